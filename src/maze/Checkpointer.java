@@ -0,0 +1,57 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.*;
+
+/**
+ * Grava checkpoints periódicos de um labirinto.
+ * A captura segura os ratos só pelo tempo de copiar o estado em memória;
+ * a escrita em disco acontece depois, numa thread própria.
+ */
+public class Checkpointer implements AutoCloseable {
+    private final Maze maze;
+    private final Path file;
+    private final ScheduledExecutorService executor;
+
+    public Checkpointer(Maze maze, Path file, long intervalMs) {
+        this.maze = maze;
+        this.file = file;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::checkpointQuietly, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Captura e grava um checkpoint imediatamente
+     */
+    public synchronized MazeSnapshot checkpointNow() throws IOException {
+        long start = System.nanoTime();
+        MazeSnapshot snapshot = maze.captureSnapshot();
+        long captured = System.nanoTime();
+        snapshot.write(file);
+        System.out.println("💾 Checkpoint salvo: " + snapshot.getMouseCount() + " ratos (captura "
+                + (captured - start) / 1_000_000 + " ms, escrita "
+                + (System.nanoTime() - captured) / 1_000_000 + " ms)");
+        return snapshot;
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpointNow();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Erro ao salvar checkpoint: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Para os checkpoints periódicos (o último arquivo gravado permanece)
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
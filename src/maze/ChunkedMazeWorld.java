@@ -0,0 +1,222 @@
+package maze;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mundo de labirinto infinito, gerado sob demanda em blocos (chunks) de CHUNK_SIZE x CHUNK_SIZE.
+ *
+ * Cada chunk é gerado de forma determinística a partir de um hash da semente do mundo
+ * e das coordenadas do chunk, então pode ser descartado e gerado de novo idêntico.
+ * Dentro do chunk as células ficam nas coordenadas locais ímpares e formam uma árvore
+ * geradora (backtracking iterativo), logo o chunk é conexo. A coluna 0 e a linha 0 são
+ * paredes de borda com exatamente uma porta cada, sorteada pelo hash da borda: como todo
+ * chunk se liga aos vizinhos oeste e norte, o mundo inteiro é conexo.
+ *
+ * Os chunks ficam num cache limitado, então a memória depende só da área ativa.
+ * A leitura não usa lock (ConcurrentHashMap); o descarte segue o algoritmo do relógio
+ * (segunda chance), uma aproximação de LRU que só roda quando um chunk novo é gerado.
+ */
+public class ChunkedMazeWorld {
+    public static final int CHUNK_SIZE = 32;
+    private static final int CELLS_PER_SIDE = CHUNK_SIZE / 2;
+    private static final long WEST_DOOR = 0x57L;
+    private static final long NORTH_DOOR = 0x4EL;
+
+    private final long seed;
+    private final int maxCachedChunks;
+
+    // Cache sem lock na leitura; o relógio de descarte é protegido por synchronized(clock)
+    private final ConcurrentHashMap<Long, Chunk> cache = new ConcurrentHashMap<>();
+    private final ArrayDeque<Chunk> clock = new ArrayDeque<>();
+
+    // Métricas de geração
+    private final LongAdder generatedChunks = new LongAdder();
+    private final LongAdder generationNanos = new LongAdder();
+    private final AtomicLong maxGenerationNanos = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+
+    public ChunkedMazeWorld(long seed, int maxCachedChunks) {
+        this.seed = seed;
+        this.maxCachedChunks = maxCachedChunks;
+    }
+
+    /**
+     * Chunk em cache: 1 bit por célula, 1 = caminho
+     */
+    private static final class Chunk {
+        final long key;
+        final long[] bits;
+        // Usado desde a última passada do relógio
+        volatile boolean referenced = true;
+
+        Chunk(long key, long[] bits) {
+            this.key = key;
+            this.bits = bits;
+        }
+    }
+
+    /**
+     * Verifica se a célula global (x, y) é caminho livre
+     */
+    public boolean isOpen(int x, int y) {
+        int chunkX = Math.floorDiv(x, CHUNK_SIZE);
+        int chunkY = Math.floorDiv(y, CHUNK_SIZE);
+        long[] chunk = getChunk(chunkX, chunkY).bits;
+        int local = (y - chunkY * CHUNK_SIZE) * CHUNK_SIZE + (x - chunkX * CHUNK_SIZE);
+        return (chunk[local >>> 6] & (1L << (local & 63))) != 0;
+    }
+
+    /**
+     * Ajusta uma coordenada para a célula mais próxima: coordenadas ímpares são sempre caminho
+     */
+    public static int snapToCell(int coordinate) {
+        return (coordinate & 1) == 0 ? coordinate + 1 : coordinate;
+    }
+
+    public long getSeed() { return seed; }
+    public long getGeneratedChunks() { return generatedChunks.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public long getCacheHits() { return cacheHits.sum(); }
+    public long getMaxGenerationNanos() { return maxGenerationNanos.get(); }
+
+    public long getAverageGenerationNanos() {
+        long count = generatedChunks.sum();
+        return count == 0 ? 0 : generationNanos.sum() / count;
+    }
+
+    public int getCachedChunks() {
+        return cache.size();
+    }
+
+    /**
+     * Resumo das métricas de geração e do cache
+     */
+    public String getStats() {
+        return String.format("Chunks gerados: %d | em cache: %d/%d | descartados: %d | acertos: %d | "
+                        + "geração média: %.1f µs, máxima: %.1f µs",
+                getGeneratedChunks(), getCachedChunks(), maxCachedChunks, getEvictions(), getCacheHits(),
+                getAverageGenerationNanos() / 1000.0, getMaxGenerationNanos() / 1000.0);
+    }
+
+    /**
+     * Busca o chunk no cache ou o gera. Acertos não usam lock; a geração acontece
+     * fora de qualquer lock e só a inserção no relógio de descarte é sincronizada.
+     */
+    private Chunk getChunk(int chunkX, int chunkY) {
+        long key = ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+        Chunk chunk = cache.get(key);
+        if (chunk != null) {
+            // Só escreve se mudou: evita disputar a linha de cache entre threads a cada leitura
+            if (!chunk.referenced) {
+                chunk.referenced = true;
+            }
+            cacheHits.increment();
+            return chunk;
+        }
+
+        Chunk generated = new Chunk(key, generateChunk(chunkX, chunkY));
+        // Outra thread pode ter gerado o mesmo chunk (idêntico) nesse meio tempo
+        Chunk existing = cache.putIfAbsent(key, generated);
+        if (existing != null) return existing;
+
+        synchronized(clock) {
+            clock.add(generated);
+            evictIfNeeded();
+        }
+        return generated;
+    }
+
+    /**
+     * Relógio (segunda chance): chunks usados desde a última passada ganham outra volta,
+     * os demais são descartados até o cache voltar ao limite
+     */
+    private void evictIfNeeded() {
+        while (cache.size() > maxCachedChunks) {
+            Chunk candidate = clock.poll();
+            if (candidate == null) return;
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.add(candidate);
+            } else if (cache.remove(candidate.key, candidate)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Gera um chunk: 1 bit por célula, 1 = caminho
+     */
+    private long[] generateChunk(int chunkX, int chunkY) {
+        long start = System.nanoTime();
+        long[] bits = new long[CHUNK_SIZE * CHUNK_SIZE / 64];
+        Random random = new Random(hash(chunkX, chunkY, 0));
+
+        // Árvore geradora sobre as células de coordenadas locais ímpares (backtracking iterativo)
+        boolean[] visited = new boolean[CELLS_PER_SIDE * CELLS_PER_SIDE];
+        int[] stack = new int[CELLS_PER_SIDE * CELLS_PER_SIDE];
+        int top = 0;
+        int[] neighbors = new int[4];
+
+        int first = random.nextInt(visited.length);
+        visited[first] = true;
+        open(bits, 2 * (first % CELLS_PER_SIDE) + 1, 2 * (first / CELLS_PER_SIDE) + 1);
+        stack[top++] = first;
+
+        while (top > 0) {
+            int current = stack[top - 1];
+            int cx = current % CELLS_PER_SIDE;
+            int cy = current / CELLS_PER_SIDE;
+
+            int count = 0;
+            if (cy > 0 && !visited[current - CELLS_PER_SIDE]) neighbors[count++] = current - CELLS_PER_SIDE;
+            if (cy < CELLS_PER_SIDE - 1 && !visited[current + CELLS_PER_SIDE]) neighbors[count++] = current + CELLS_PER_SIDE;
+            if (cx < CELLS_PER_SIDE - 1 && !visited[current + 1]) neighbors[count++] = current + 1;
+            if (cx > 0 && !visited[current - 1]) neighbors[count++] = current - 1;
+
+            if (count == 0) {
+                top--;
+                continue;
+            }
+
+            int next = neighbors[random.nextInt(count)];
+            int nx = next % CELLS_PER_SIDE;
+            int ny = next / CELLS_PER_SIDE;
+            // Remove a parede entre as duas células
+            open(bits, cx + nx + 1, cy + ny + 1);
+            open(bits, 2 * nx + 1, 2 * ny + 1);
+            visited[next] = true;
+            stack[top++] = next;
+        }
+
+        // Portas nas bordas oeste e norte; as bordas leste/sul são as portas dos vizinhos
+        int westDoor = (int) Math.floorMod(hash(chunkX, chunkY, WEST_DOOR), (long) CELLS_PER_SIDE);
+        open(bits, 0, 2 * westDoor + 1);
+        int northDoor = (int) Math.floorMod(hash(chunkX, chunkY, NORTH_DOOR), (long) CELLS_PER_SIDE);
+        open(bits, 2 * northDoor + 1, 0);
+
+        long elapsed = System.nanoTime() - start;
+        generatedChunks.increment();
+        generationNanos.add(elapsed);
+        maxGenerationNanos.accumulateAndGet(elapsed, Math::max);
+        return bits;
+    }
+
+    private static void open(long[] bits, int localX, int localY) {
+        int local = localY * CHUNK_SIZE + localX;
+        bits[local >>> 6] |= 1L << (local & 63);
+    }
+
+    /**
+     * Hash determinístico (splitmix64) da semente, do chunk e de um sal
+     */
+    private long hash(int chunkX, int chunkY, long salt) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) chunkX << 32) ^ (chunkY & 0xFFFFFFFFL) ^ (salt << 56) ^ salt);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,93 @@
+package maze;
+
+import java.util.concurrent.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Tarefa periódica agendada em tempo simulado.
+ * O corpo retorna o atraso (ms simulados) até a próxima execução, ou -1 para encerrar.
+ * Quando o relógio muda, reschedule() recalcula o atraso real do prazo pendente;
+ * enquanto pausado nada fica agendado, então não há consumo de CPU.
+ */
+class ClockedTask {
+    private final ScheduledExecutorService executor;
+    private final SimulationClock clock;
+    private final LongSupplier body;
+
+    // Protegidos por this
+    private long deadlineSimNanos;
+    private long generation = 0;
+    private boolean running = false;
+    private boolean cancelled = false;
+    private ScheduledFuture<?> future;
+
+    ClockedTask(ScheduledExecutorService executor, SimulationClock clock, LongSupplier body) {
+        this.executor = executor;
+        this.clock = clock;
+        this.body = body;
+    }
+
+    /**
+     * Agenda a primeira execução daqui a {@code delayMs} milissegundos simulados
+     */
+    synchronized void start(long delayMs) {
+        scheduleAt(clock.nowNanos() + TimeUnit.MILLISECONDS.toNanos(delayMs));
+    }
+
+    /**
+     * Reaplica o estado do relógio ao prazo pendente.
+     * Se o corpo está executando, ele mesmo agenda a próxima com o relógio novo.
+     */
+    synchronized void reschedule() {
+        if (running || cancelled) return;
+        if (future != null) {
+            future.cancel(false);
+        }
+        scheduleAt(deadlineSimNanos);
+    }
+
+    synchronized void cancel() {
+        cancelled = true;
+        generation++;
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+    }
+
+    private void scheduleAt(long deadline) {
+        deadlineSimNanos = deadline;
+        long gen = ++generation;
+        future = null;
+        if (cancelled || clock.isPaused()) return;
+        try {
+            future = executor.schedule(() -> fire(gen), clock.realDelayNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Executor encerrado: a simulação está parando
+        }
+    }
+
+    private void fire(long gen) {
+        synchronized(this) {
+            // Execução obsoleta (reagendada ou cancelada nesse meio tempo)
+            if (gen != generation || cancelled) return;
+            running = true;
+        }
+
+        long nextDelayMs = -1;
+        try {
+            nextDelayMs = body.getAsLong();
+        } finally {
+            synchronized(this) {
+                running = false;
+                if (nextDelayMs < 0) {
+                    cancelled = true;
+                } else {
+                    // Prazo relativo ao prazo anterior, para não acumular atraso
+                    scheduleAt(Math.max(deadlineSimNanos + TimeUnit.MILLISECONDS.toNanos(nextDelayMs),
+                            clock.nowNanos()));
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package maze;
 
 import models.Mouse;
+import models.MouseState;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Maze {
     // Constantes públicas
@@ -16,11 +18,48 @@ public class Maze {
     private int endX, endY;
     private Random random;
 
+    // Mundo procedural infinito (null = labirinto fixo na matriz)
+    private final ChunkedMazeWorld world;
+
     // Controle de múltiplos ratos com threads
-    private List<Mouse> mice = Collections.synchronizedList(new ArrayList<>());
+    private final MouseRegistry mice = new MouseRegistry();
     private volatile boolean gameRunning = true;
+    private volatile boolean started = false;
     private ScheduledExecutorService displayExecutor;
-    private List<Thread> mouseThreads = Collections.synchronizedList(new ArrayList<>());
+    private volatile ClockedTask displayTask;
+
+    // Relógio da simulação: pausa e escala de tempo valem para ratos e exibição
+    private final SimulationClock clock = new SimulationClock();
+
+    // Os ratos não têm mais uma thread cada: cada passo é uma tarefa agendada
+    // num pool compartilhado, então criar/remover ratos é barato
+    private volatile ScheduledExecutorService moverExecutor;
+    private final ConcurrentHashMap<Integer, ClockedTask> mouseTasks = new ConcurrentHashMap<>();
+    private final Set<Integer> scheduledMice = ConcurrentHashMap.newKeySet();
+
+    // Modo hospedado (MazeHost): os passos ficam numa fila de prazos
+    // e quem executa é o pool compartilhado do host
+    private volatile boolean hosted = false;
+    private final DelayQueue<DueStep> dueSteps = new DelayQueue<>();
+    // Hook de limpeza do play() avulso, removido em stop() (null = nenhum registrado)
+    private Thread shutdownHook;
+
+    // Índice de células livres, montado na primeira vez que um rato nasce
+    private volatile OpenCellIndex openCells;
+    private volatile boolean distinctSpawns = false;
+    // Sem mensagens por rato nem exibição periódica (benchmarks, servidores)
+    private volatile boolean quiet = false;
+    // Semente dos geradores dos ratos novos (null = cada rato sorteia a sua)
+    private volatile Long mouseSeed;
+
+    // Mapa compartilhado do modo enxame (null = cada rato explora sozinho)
+    private volatile SharedExplorationMap swarmMap;
+
+    // Passos que terminaram em exceção (o rato segue agendado)
+    private final LongAdder stepErrors = new LongAdder();
+
+    // Ouvintes de eventos dos ratos (gravação, streaming...)
+    private final List<MazeListener> listeners = new CopyOnWriteArrayList<>();
 
     // Sincronização para posições dos ratos
     private final Object displayLock = new Object();
@@ -33,24 +72,77 @@ public class Maze {
         this.width = width;
         this.height = height;
         this.random = new Random();
+        this.world = null;
 
         // Define posição de saída fixa
         this.endX = width - 2;
         this.endY = height - 1;
 
-        // Adiciona hook para limpeza ao encerrar
-        addShutdownHook();
+        // Reagenda ratos e exibição quando o relógio pausa, retoma ou muda de escala
+        clock.addListener(this::onClockChanged);
     }
 
     /**
-     * Adiciona um rato ao labirinto
+     * Construtor para um mundo procedural infinito. Largura e altura definem só a
+     * janela exibida (e onde os ratos nascem); os ratos podem andar além dela.
      */
-    public void addMouse(int velocityMs) {
-        Mouse mouse = new Mouse(mice.size(), this, velocityMs);
-        synchronized(mice) {
-            mice.add(mouse);
+    public Maze(ChunkedMazeWorld world, int viewWidth, int viewHeight, int endX, int endY) {
+        if (!world.isOpen(endX, endY)) {
+            throw new IllegalArgumentException("Saída (" + endX + ", " + endY + ") não é um caminho livre");
         }
-        System.out.println("➕ Adicionado rato " + mouse.getId() + " (" + mouse.getSymbol() + ")");
+        this.matrix = null;
+        this.world = world;
+        this.width = viewWidth;
+        this.height = viewHeight;
+        this.random = new Random();
+        this.endX = endX;
+        this.endY = endY;
+
+        clock.addListener(this::onClockChanged);
+    }
+
+    /**
+     * Adiciona um rato ao labirinto.
+     * Pode ser chamado com a simulação em andamento: o rato já começa a se mover.
+     */
+    public Mouse addMouse(int velocityMs) {
+        Mouse mouse = new Mouse(mice.allocateId(), this, velocityMs);
+        mice.add(mouse);
+        if (!quiet) {
+            System.out.println("➕ Adicionado rato " + mouse.getId() + " (" + mouse.getSymbol() + ")");
+        }
+        for (MazeListener listener : listeners) {
+            listener.onMouseAdded(mouse);
+        }
+
+        // Se o jogo já começou, agenda o primeiro passo imediatamente
+        if (started && gameRunning) {
+            startMouse(mouse);
+        }
+        return mouse;
+    }
+
+    /**
+     * Remove um rato do labirinto, mesmo com a simulação em andamento.
+     * Não espera o passo em andamento terminar, apenas cancela os próximos.
+     */
+    public boolean removeMouse(int id) {
+        Mouse mouse = mice.remove(id);
+        if (mouse == null) return false;
+
+        mouse.stop();
+        scheduledMice.remove(id);
+        ClockedTask task = mouseTasks.remove(id);
+        if (task != null) {
+            task.cancel();
+        }
+        if (!quiet) {
+            System.out.println("➖ Removido rato " + id + " (" + mouse.getSymbol() + ")");
+        }
+        for (MazeListener listener : listeners) {
+            listener.onMouseRemoved(mouse);
+        }
+        return true;
     }
 
     /**
@@ -60,33 +152,186 @@ public class Maze {
         for (int i = 0; i < count; i++) {
             addMouse(velocityMs);
         }
-        System.out.println("🐭 Total de " + mice.size() + " ratos no labirinto!");
+        if (!quiet) {
+            System.out.println("🐭 Total de " + mice.size() + " ratos no labirinto!");
+        }
     }
 
     /**
-     * Inicia o jogo com velocidade especificada usando threads nativas
+     * Inicia o jogo com velocidade especificada usando um pool de threads compartilhado
      */
     public void play(int velocityMs) {
+        if (hosted) {
+            throw new IllegalStateException("Labirinto hospedado num MazeHost: use MazeHost.start()");
+        }
         if (mice.isEmpty()) {
             System.out.println("Adicione pelo menos um rato antes de iniciar!");
             return;
         }
 
-        // Inicia uma thread dedicada para cada rato
-        synchronized(mice) {
-            for (Mouse mouse : mice) {
-                Thread mouseThread = new Thread(mouse, "RatoThread-" + mouse.getId());
-                mouseThread.setDaemon(false); // Thread não-daemon para manter programa vivo
-                mouseThreads.add(mouseThread);
-                mouseThread.start();
-                System.out.println("Thread iniciada para rato " + mouse.getId());
-            }
+        // Adiciona hook para limpeza ao encerrar
+        addShutdownHook();
+
+        // Pool de threads não-daemon para manter programa vivo
+        moverExecutor = Executors.newScheduledThreadPool(
+                Runtime.getRuntime().availableProcessors(), new MoverThreadFactory());
+
+        // Ratos adicionados a partir daqui já nascem agendados
+        started = true;
+
+        // Agenda o primeiro passo de cada rato
+        for (Mouse mouse : mice.values()) {
+            startMouse(mouse);
         }
+        System.out.println("Movimento iniciado para " + mice.size() + " ratos");
 
         // Thread para atualizar a exibição periodicamente
         displayExecutor = Executors.newSingleThreadScheduledExecutor();
-        displayExecutor.scheduleAtFixedRate(this::updateDisplay, 1000, velocityMs, TimeUnit.MILLISECONDS);
+        displayTask = new ClockedTask(displayExecutor, clock, () -> {
+            updateDisplay();
+            return gameRunning ? velocityMs : -1;
+        });
+        displayTask.start(1000);
+
+    }
 
+    /**
+     * Agenda o primeiro passo de um rato, no máximo uma vez por rato
+     * (play() e addMouse() concorrentes podem enxergar o mesmo rato)
+     */
+    private void startMouse(Mouse mouse) {
+        if (scheduledMice.add(mouse.getId())) {
+            if (hosted) {
+                dueSteps.offer(new DueStep(mouse, clock.nowNanos()));
+            } else {
+                ClockedTask task = new ClockedTask(moverExecutor, clock, () -> runStep(mouse));
+                mouseTasks.put(mouse.getId(), task);
+                task.start(0);
+            }
+        }
+    }
+
+    /**
+     * Marca o labirinto como hospedado; a partir daqui play() é recusado
+     */
+    synchronized void attachToHost() {
+        if (started) {
+            throw new IllegalStateException("Labirinto já iniciado com play()");
+        }
+        hosted = true;
+    }
+
+    /**
+     * Inicia o labirinto em modo hospedado: nenhuma thread própria é criada,
+     * o MazeHost chama runDueSteps() no seu pool compartilhado
+     */
+    void startHosted() {
+        hosted = true;
+        started = true;
+        for (Mouse mouse : mice.values()) {
+            startMouse(mouse);
+        }
+    }
+
+    /**
+     * Executa até {@code budget} passos de ratos cujo prazo já venceu.
+     * Retorna quantos passos foram executados (modo hospedado).
+     */
+    int runDueSteps(int budget) {
+        int executed = 0;
+        DueStep due;
+        while (executed < budget && gameRunning && (due = dueSteps.poll()) != null) {
+            Mouse mouse = due.mouse;
+            // Rato removido enquanto esperava na fila: descarta
+            if (!mouse.isRunning() || mice.get(mouse.getId()) != mouse) {
+                scheduledMice.remove(mouse.getId());
+                continue;
+            }
+
+            long delayMs;
+            try {
+                delayMs = mouse.step();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dueSteps.offer(due);
+                break;
+            } catch (Exception e) {
+                stepErrors.increment();
+                System.err.println("❌ Erro no passo do rato " + mouse.getId() + ": " + e.getMessage());
+                delayMs = 1000;
+            }
+            dueSteps.offer(new DueStep(mouse, clock.nowNanos() + TimeUnit.MILLISECONDS.toNanos(delayMs)));
+            executed++;
+        }
+        return executed;
+    }
+
+    /**
+     * Nanossegundos reais até o próximo passo vencer, ou -1 se não há ratos agendados
+     */
+    long nanosUntilNextStep() {
+        DueStep next = dueSteps.peek();
+        return next == null ? -1 : Math.max(0, next.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Passo agendado de um rato no modo hospedado (prazo em tempo simulado)
+     */
+    private class DueStep implements Delayed {
+        final Mouse mouse;
+        final long dueNanos;
+
+        DueStep(Mouse mouse, long dueNanos) {
+            this.mouse = mouse;
+            this.dueNanos = dueNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(clock.realDelayNanos(dueNanos), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueNanos, ((DueStep) other).dueNanos);
+        }
+    }
+
+    /**
+     * Executa um passo do rato e retorna o atraso até o seguinte (-1 encerra)
+     */
+    private long runStep(Mouse mouse) {
+        // Rato removido ou jogo encerrado: não reagenda
+        if (!gameRunning || !mouse.isRunning() || mice.get(mouse.getId()) != mouse) {
+            mouseTasks.remove(mouse.getId());
+            scheduledMice.remove(mouse.getId());
+            return -1;
+        }
+
+        try {
+            return mouse.step();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        } catch (Exception e) {
+            stepErrors.increment();
+            System.err.println("❌ Erro no passo do rato " + mouse.getId() + ": " + e.getMessage());
+            return 1000;
+        }
+    }
+
+    /**
+     * Nomeia as threads do pool de movimento
+     */
+    private static class MoverThreadFactory implements ThreadFactory {
+        private int count = 0;
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "RatoMover-" + count++);
+            thread.setDaemon(false);
+            return thread;
+        }
     }
 
     /**
@@ -96,61 +341,155 @@ public class Maze {
         if (!gameRunning) return;
 
         synchronized(displayLock) {
-            display();
-
-            // Verifica se todos os ratos chegaram ao destino
-            boolean allFinished = true;
-            synchronized(mice) {
-                for (Mouse mouse : mice) {
-                    if (!mouse.hasReachedEnd()) {
-                        allFinished = false;
-                        break;
-                    }
-                }
+            if (!quiet) {
+                display();
             }
 
-            if (allFinished && !mice.isEmpty()) {
+            // Verifica se todos os ratos chegaram ao destino
+            if (isFinished()) {
                 System.out.println("\n🎊 TODOS OS RATOS CHEGARAM AO DESTINO! 🎊");
                 stop();
             }
         }
     }
 
+    /**
+     * Pausa a simulação: nenhum passo nem exibição é agendado até resume()
+     */
+    public void pause() {
+        clock.pause();
+        System.out.println("⏸️ Simulação pausada");
+    }
+
+    /**
+     * Retoma a simulação pausada
+     */
+    public void resume() {
+        clock.resume();
+        System.out.println("▶️ Simulação retomada");
+    }
+
+    /**
+     * Altera a velocidade global (ex.: 0.1 = 10x mais lento, 1000 = 1000x mais rápido).
+     * Vale já a partir do próximo passo de cada rato.
+     */
+    public void setTimeScale(double scale) {
+        clock.setTimeScale(scale);
+    }
+
+    public boolean isPaused() { return clock.isPaused(); }
+    public double getTimeScale() { return clock.getTimeScale(); }
+    public SimulationClock getClock() { return clock; }
+
+    /**
+     * Recalcula os prazos pendentes com o estado atual do relógio
+     */
+    private void onClockChanged() {
+        for (ClockedTask task : mouseTasks.values()) {
+            task.reschedule();
+        }
+        ClockedTask display = displayTask;
+        if (display != null) {
+            display.reschedule();
+        }
+    }
+
+    /**
+     * Captura um snapshot da simulação inteira sem parar o labirinto.
+     * Cada rato é copiado sob o seu próprio lock de movimento, entre dois passos:
+     * só ele espera, e só pelo tempo da cópia. Como os ratos não interagem entre si
+     * (as marcas do enxame são apenas dicas e só crescem), o conjunto desses cortes
+     * por rato é um estado válido para retomar a simulação.
+     */
+    public MazeSnapshot captureSnapshot() {
+        if (world != null) {
+            throw new IllegalStateException("Checkpoint não suportado em mundo procedural");
+        }
+        long simNanos = clock.nowNanos();
+        List<MouseState> states = new ArrayList<>();
+        for (Mouse mouse : mice.snapshot()) {
+            states.add(mouse.captureState());
+        }
+        // Mapas do enxame copiados depois dos ratos: como as marcas só crescem, a cópia
+        // contém tudo o que cada rato já tinha visitado ao ser capturado
+        SharedExplorationMap swarm = swarmMap;
+        long[] swarmVisited = swarm == null ? null : swarm.copyVisited();
+        long[] swarmDeadEnds = swarm == null ? null : swarm.copyDeadEnds();
+        // Lido depois da lista: é maior que todos os ids capturados
+        int nextMouseId = mice.peekNextId();
+        // A matriz não muda depois de gerada, então pode ser compartilhada
+        return new MazeSnapshot(width, height, endX, endY, matrix, simNanos,
+                clock.getTimeScale(), nextMouseId, states, swarmVisited, swarmDeadEnds);
+    }
+
+    /**
+     * Recria uma simulação a partir de um snapshot. O labirinto volta parado;
+     * chame play() para continuar de onde parou.
+     */
+    public static Maze restore(MazeSnapshot snapshot) {
+        Maze maze = new Maze(snapshot.matrix, snapshot.width, snapshot.height);
+        maze.endX = snapshot.endX;
+        maze.endY = snapshot.endY;
+        maze.clock.restore(snapshot.simNanos, snapshot.timeScale);
+        if (snapshot.swarmVisited != null) {
+            maze.swarmMap = new SharedExplorationMap(snapshot.width, snapshot.height,
+                    snapshot.swarmVisited, snapshot.swarmDeadEnds);
+        }
+        for (MouseState state : snapshot.mice) {
+            maze.mice.add(new Mouse(state, maze));
+        }
+        maze.mice.advanceNextId(snapshot.nextMouseId);
+        System.out.println("♻️ Simulação restaurada com " + snapshot.mice.size() + " ratos");
+        return maze;
+    }
+
+    /**
+     * Verifica se há ratos e todos chegaram ao destino
+     */
+    public boolean isFinished() {
+        for (Mouse mouse : mice.values()) {
+            if (!mouse.hasReachedEnd()) {
+                return false;
+            }
+        }
+        return !mice.isEmpty();
+    }
+
     /**
      * Para a simulação e todas as threads de forma segura
      */
     public void stop() {
         gameRunning = false;
+        removeShutdownHook();
 
         // Para todos os ratos
-        synchronized(mice) {
-            for (Mouse mouse : mice) {
-                mouse.stop();
-            }
+        for (Mouse mouse : mice.values()) {
+            mouse.stop();
         }
 
-        // Interrompe todas as threads dos ratos
-        synchronized(mouseThreads) {
-            for (Thread thread : mouseThreads) {
-                if (thread.isAlive()) {
-                    thread.interrupt();
-                }
-            }
+        // Cancela os passos agendados dos ratos
+        for (ClockedTask task : mouseTasks.values()) {
+            task.cancel();
         }
+        mouseTasks.clear();
+        dueSteps.clear();
+        scheduledMice.clear();
 
         // Para a thread de exibição
+        if (displayTask != null) {
+            displayTask.cancel();
+        }
         if (displayExecutor != null && !displayExecutor.isShutdown()) {
             displayExecutor.shutdownNow();
         }
 
-        // Aguarda finalização das threads
-        synchronized(mouseThreads) {
-            for (Thread thread : mouseThreads) {
-                try {
-                    thread.join(2000); // Aguarda até 2 segundos por thread
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+        // Aguarda finalização das threads de movimento
+        if (moverExecutor != null) {
+            moverExecutor.shutdownNow();
+            try {
+                moverExecutor.awaitTermination(2, TimeUnit.SECONDS); // Aguarda até 2 segundos
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
 
@@ -165,24 +504,25 @@ public class Maze {
         List<MouseSnapshot> activeMouses = new ArrayList<>();
         int finishedCount = 0;
 
-        synchronized(mice) {
-            for (Mouse mouse : mice) {
-                if (mouse.hasReachedEnd()) {
-                    finishedCount++;
-                }
-                // Mostra todos os ratos, mesmo os que chegaram ao destino
-                activeMouses.add(new MouseSnapshot(mouse.getX(), mouse.getY(),
-                        mouse.getId(), mouse.getSymbol(),
-                        mouse.hasReachedEnd()));
+        for (Mouse mouse : mice.values()) {
+            if (mouse.hasReachedEnd()) {
+                finishedCount++;
             }
+            // Mostra todos os ratos, mesmo os que chegaram ao destino
+            activeMouses.add(new MouseSnapshot(mouse.getX(), mouse.getY(),
+                    mouse.getId(), mouse.getSymbol(),
+                    mouse.hasReachedEnd()));
         }
 
         // Limpa tela (funciona na maioria dos terminais)
 
         System.out.println("=== LABIRINTO COM MÚLTIPLOS RATOS ===");
         System.out.println("█ = Parede | · = Caminho | # = Saída");
-        System.out.println("Ratos explorando: " + (mice.size() - finishedCount));
+        System.out.println("Ratos explorando: " + (activeMouses.size() - finishedCount));
         System.out.println("Chegaram ao destino: " + finishedCount);
+        if (world != null) {
+            System.out.println("Saída em (" + endX + ", " + endY + ") | " + world.getStats());
+        }
 
         // Mostra informações dos ratos
         System.out.print("Status dos ratos: ");
@@ -219,7 +559,7 @@ public class Maze {
                     System.out.print("# ");
                 }
                 // Parede
-                else if (matrix[i][j] == WALL) {
+                else if (!isValidPosition(j, i)) {
                     System.out.print("█ ");
                 }
                 // Caminho livre
@@ -253,6 +593,9 @@ public class Maze {
      * Verifica se uma posição é válida para movimento (thread-safe)
      */
     public boolean isValidPosition(int x, int y) {
+        if (world != null) {
+            return world.isOpen(x, y);
+        }
         return x >= 0 && x < width &&
                 y >= 0 && y < height &&
                 matrix[y][x] == PATH;
@@ -275,25 +618,145 @@ public class Maze {
         return false;
     }
 
+    /**
+     * Registra um ouvinte de eventos dos ratos
+     */
+    public void addListener(MazeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(MazeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Chamado pelo rato a cada mudança de posição (na thread do rato)
+     */
+    public void notifyMouseMoved(Mouse mouse, int fromX, int fromY, int toX, int toY) {
+        for (MazeListener listener : listeners) {
+            listener.onMouseMoved(mouse, fromX, fromY, toX, toY);
+        }
+    }
+
+    /**
+     * Índice compacto das células livres (montado uma vez, a matriz não muda)
+     */
+    public OpenCellIndex getOpenCells() {
+        OpenCellIndex index = openCells;
+        if (index == null) {
+            synchronized(this) {
+                index = openCells;
+                if (index == null) {
+                    index = new OpenCellIndex(this);
+                    openCells = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Se ativado, cada rato novo nasce numa célula onde nenhum outro nasceu
+     * (enquanto houver células livres)
+     */
+    public void setDistinctSpawns(boolean distinctSpawns) {
+        this.distinctSpawns = distinctSpawns;
+    }
+
+    public boolean isDistinctSpawns() { return distinctSpawns; }
+
+    /**
+     * Se definida, o gerador de cada rato novo é semeado a partir de (semente, id):
+     * o mesmo labirinto com a mesma semente repete posições iniciais e escolhas.
+     * null volta ao sorteio livre.
+     */
+    public void setMouseSeed(Long mouseSeed) {
+        this.mouseSeed = mouseSeed;
+    }
+
+    public Long getMouseSeed() { return mouseSeed; }
+
+    /**
+     * Modo silencioso: entradas, saídas e passos dos ratos não escrevem no console
+     * e a exibição periódica do play() não é desenhada. Erros continuam no stderr.
+     */
+    public void setQuiet(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    public boolean isQuiet() { return quiet; }
+
+    /**
+     * Ativa o modo enxame: os ratos passam a compartilhar um mapa de células
+     * visitadas e becos sem saída, evitando corredores que outros já exploraram
+     */
+    public synchronized SharedExplorationMap enableSwarmMode() {
+        if (world != null) {
+            // O mapa cobre só a janela: fora dela os ratos perderiam o enxame sem aviso
+            throw new IllegalStateException("Modo enxame não suportado em mundo procedural");
+        }
+        if (swarmMap == null) {
+            swarmMap = new SharedExplorationMap(width, height);
+            if (!quiet) {
+                System.out.println("🐝 Modo enxame ativado");
+            }
+        }
+        return swarmMap;
+    }
+
+    public SharedExplorationMap getSwarmMap() {
+        return swarmMap;
+    }
+
     // Getters thread-safe
     public int getWidth() { return width; }
     public int getHeight() { return height; }
     public int getEndX() { return endX; }
     public int getEndY() { return endY; }
+    public ChunkedMazeWorld getWorld() { return world; }
 
     public List<Mouse> getMice() {
-        synchronized(mice) {
-            return new ArrayList<>(mice);
-        }
+        return mice.snapshot();
+    }
+
+    public Mouse getMouse(int id) {
+        return mice.get(id);
+    }
+
+    public int getMouseCount() {
+        return mice.size();
+    }
+
+    /**
+     * Quantos passos de ratos terminaram em exceção desde o início
+     */
+    public long getStepErrors() {
+        return stepErrors.sum();
     }
 
     /**
      * Adiciona shutdown hook para limpeza adequada
      */
-    public void addShutdownHook() {
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+    public synchronized void addShutdownHook() {
+        if (shutdownHook != null) return;
+        shutdownHook = new Thread(() -> {
             System.out.println("\n🛑 Encerrando sistema...");
             stop();
-        }));
+        });
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Remove o hook registrado por addShutdownHook(), a menos que seja ele quem está
+     * parando o labirinto: play() e stop() repetidos não acumulam hooks na JVM
+     */
+    private synchronized void removeShutdownHook() {
+        if (shutdownHook == null || Thread.currentThread() == shutdownHook) return;
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // A JVM já está encerrando: o hook vai rodar e parar um labirinto já parado
+        }
+        shutdownHook = null;
     }
 }
\ No newline at end of file
@@ -27,6 +27,14 @@ public class MazeGenerator {
         this.random = new Random(); // Cria novo objeto Random para gerar números aleatórios
     }
 
+    /**
+     * Construtor com semente fixa: a mesma semente gera sempre o mesmo labirinto
+     * @param seed Semente do gerador de números aleatórios
+     */
+    public MazeGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
     /**
      * Método principal que gera um novo labirinto
      * @param width Largura desejada (será convertida para ímpar se necessário)
@@ -57,6 +65,21 @@ public class MazeGenerator {
         return new Maze(mazeMatrix, finalWidth, finalHeight);
     }
 
+    /**
+     * Gera um labirinto infinito, materializado em chunks conforme os ratos exploram
+     * @param viewWidth Largura da janela exibida (onde os ratos nascem)
+     * @param viewHeight Altura da janela exibida
+     * @param exitX Coordenada X aproximada da saída (pode estar fora da janela)
+     * @param exitY Coordenada Y aproximada da saída
+     * @param maxCachedChunks Quantos chunks manter em memória ao mesmo tempo
+     * @return Objeto Maze ligado ao mundo procedural
+     */
+    public Maze generateWorld(int viewWidth, int viewHeight, int exitX, int exitY, int maxCachedChunks) {
+        ChunkedMazeWorld world = new ChunkedMazeWorld(random.nextLong(), maxCachedChunks);
+        return new Maze(world, viewWidth, viewHeight,
+                ChunkedMazeWorld.snapToCell(exitX), ChunkedMazeWorld.snapToCell(exitY));
+    }
+
     /**
      * Inicializa toda a matriz do labirinto com paredes
      * @param maze Matriz a ser inicializada
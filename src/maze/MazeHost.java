@@ -0,0 +1,295 @@
+package maze;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hospeda vários labirintos num único pool de threads limitado.
+ * Cada labirinto recebe fatias de no máximo {@code sliceSteps} passos por vez,
+ * em rodízio, então um labirinto grande não monopoliza as threads.
+ */
+public class MazeHost {
+    // Estados do ciclo de vida de cada sessão
+    public enum State { CREATED, RUNNING, PAUSED, STOPPED }
+
+    private final ScheduledExecutorService scheduler;
+    private final int sliceSteps;
+    private final long idleCheckMs;
+
+    private final AtomicInteger nextSessionId = new AtomicInteger(0);
+    private final ConcurrentHashMap<Integer, Session> sessions = new ConcurrentHashMap<>();
+    private volatile boolean shutdown = false;
+    private final Thread shutdownHook;
+
+    /**
+     * Construtor da classe MazeHost
+     * @param threads Número de threads do pool compartilhado
+     * @param sliceSteps Máximo de passos de ratos por fatia de um labirinto
+     */
+    public MazeHost(int threads, int sliceSteps) {
+        this.sliceSteps = sliceSteps;
+        this.idleCheckMs = 1000;
+        this.scheduler = Executors.newScheduledThreadPool(threads, new HostThreadFactory());
+
+        // Um único hook para todos os labirintos hospedados (removido em shutdown())
+        this.shutdownHook = new Thread(() -> {
+            System.out.println("\n🛑 Encerrando host de labirintos...");
+            shutdown();
+        });
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public MazeHost() {
+        this(Runtime.getRuntime().availableProcessors(), 256);
+    }
+
+    /**
+     * Registra um labirinto no host, ainda parado. Retorna o id da sessão.
+     */
+    public int host(Maze maze) {
+        if (shutdown) {
+            throw new IllegalStateException("Host já foi encerrado");
+        }
+        maze.attachToHost();
+        int id = nextSessionId.getAndIncrement();
+        Session session = new Session(id, maze);
+        // Pausa, retomada ou mudança de escala do labirinto: recalcula a próxima fatia
+        session.clockListener = () -> wake(session);
+        maze.getClock().addListener(session.clockListener);
+        sessions.put(id, session);
+        return id;
+    }
+
+    /**
+     * Inicia (ou retoma) a simulação de uma sessão
+     */
+    public void start(int sessionId) {
+        Session session = getSession(sessionId);
+        synchronized(session) {
+            if (session.state == State.RUNNING || session.state == State.STOPPED) return;
+            if (session.state == State.CREATED) {
+                session.maze.startHosted();
+            }
+            session.state = State.RUNNING;
+            requestSlice(session);
+        }
+    }
+
+    /**
+     * Pausa uma sessão: nenhuma fatia é executada até start() ser chamado de novo
+     */
+    public void pause(int sessionId) {
+        Session session = getSession(sessionId);
+        synchronized(session) {
+            if (session.state != State.RUNNING) return;
+            session.state = State.PAUSED;
+            cancelPending(session);
+        }
+    }
+
+    /**
+     * Para definitivamente uma sessão, mantendo-a registrada para consulta
+     */
+    public void stop(int sessionId) {
+        stopSession(getSession(sessionId));
+    }
+
+    /**
+     * Para e remove uma sessão do host
+     */
+    public void dispose(int sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session != null) {
+            stopSession(session);
+            session.maze.getClock().removeListener(session.clockListener);
+        }
+    }
+
+    /**
+     * Encerra todas as sessões e o pool compartilhado
+     */
+    public synchronized void shutdown() {
+        if (shutdown) return;
+        shutdown = true;
+
+        // Host descartado antes do fim do programa: não deixa o hook (e o host) presos na JVM
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // A JVM já está encerrando: o hook vai rodar e encontrar shutdown == true
+            }
+        }
+
+        for (Session session : sessions.values()) {
+            stopSession(session);
+        }
+        sessions.clear();
+
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("✅ Host de labirintos finalizado");
+    }
+
+    public State getState(int sessionId) {
+        return getSession(sessionId).state;
+    }
+
+    public Maze getMaze(int sessionId) {
+        return getSession(sessionId).maze;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private Session getSession(int sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("Sessão inexistente: " + sessionId);
+        }
+        return session;
+    }
+
+    private void stopSession(Session session) {
+        synchronized(session) {
+            if (session.state == State.STOPPED) return;
+            session.state = State.STOPPED;
+            cancelPending(session);
+        }
+        session.maze.stop();
+    }
+
+    /**
+     * Reagenda imediatamente a próxima fatia de uma sessão em execução
+     */
+    private void wake(Session session) {
+        synchronized(session) {
+            if (session.state != State.RUNNING) return;
+            requestSlice(session);
+        }
+    }
+
+    /**
+     * Pede uma fatia imediata (chamado com o lock da sessão). Com uma fatia em
+     * execução só anota o pedido: ela mesma reagenda ao terminar, e o labirinto
+     * nunca fica com dois workers ao mesmo tempo.
+     */
+    private void requestSlice(Session session) {
+        if (session.sliceRunning) {
+            session.rescheduleRequested = true;
+            return;
+        }
+        cancelPending(session);
+        scheduleSlice(session, 0);
+    }
+
+    private void cancelPending(Session session) {
+        if (session.pending != null) {
+            session.pending.cancel(false);
+            session.pending = null;
+        }
+    }
+
+    /**
+     * Agenda a próxima fatia de uma sessão. Fatias com atraso zero entram no fim
+     * da fila do pool, o que dá o rodízio justo entre os labirintos.
+     */
+    private void scheduleSlice(Session session, long delayNanos) {
+        try {
+            session.pending = scheduler.schedule(() -> runSlice(session), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Pool encerrado: host está desligando
+        }
+    }
+
+    /**
+     * Executa uma fatia de passos de um labirinto e agenda a próxima
+     */
+    private void runSlice(Session session) {
+        synchronized(session) {
+            if (session.state != State.RUNNING) return;
+            if (session.sliceRunning) {
+                // Fatia antiga que escapou do cancelamento: a que está rodando reagenda
+                session.rescheduleRequested = true;
+                return;
+            }
+            session.sliceRunning = true;
+            session.rescheduleRequested = false;
+        }
+
+        int executed = session.maze.runDueSteps(sliceSteps);
+
+        if (session.maze.isFinished()) {
+            synchronized(session) {
+                session.sliceRunning = false;
+            }
+            System.out.println("🎊 Sessão " + session.id + ": todos os ratos chegaram ao destino!");
+            stopSession(session);
+            return;
+        }
+
+        synchronized(session) {
+            session.sliceRunning = false;
+            boolean requested = session.rescheduleRequested;
+            session.rescheduleRequested = false;
+            if (session.state != State.RUNNING) return;
+
+            cancelPending(session);
+
+            // Relógio do labirinto pausado: nada agendado até a retomada (wake)
+            if (session.maze.isPaused()) return;
+
+            long delayNanos;
+            if (requested || executed >= sliceSteps) {
+                // Pedido de wake()/start() durante a fatia, ou ainda há trabalho vencido:
+                // volta para o fim da fila
+                delayNanos = 0;
+            } else {
+                long next = session.maze.nanosUntilNextStep();
+                // Sem ratos agendados: verifica de novo mais tarde (ratos podem ser adicionados)
+                delayNanos = next < 0 ? TimeUnit.MILLISECONDS.toNanos(idleCheckMs)
+                        : Math.min(next, TimeUnit.MILLISECONDS.toNanos(idleCheckMs));
+            }
+            scheduleSlice(session, delayNanos);
+        }
+    }
+
+    /**
+     * Estado de uma sessão hospedada
+     */
+    private static class Session {
+        final int id;
+        final Maze maze;
+        volatile State state = State.CREATED;
+        ScheduledFuture<?> pending;
+        Runnable clockListener;
+        // Protegidos pelo lock da sessão: uma fatia em execução e um pedido de reagendamento
+        boolean sliceRunning = false;
+        boolean rescheduleRequested = false;
+
+        Session(int id, Maze maze) {
+            this.id = id;
+            this.maze = maze;
+        }
+    }
+
+    /**
+     * Nomeia as threads do pool compartilhado
+     */
+    private static class HostThreadFactory implements ThreadFactory {
+        private int count = 0;
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "MazeHost-" + count++);
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+}
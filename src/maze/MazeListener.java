@@ -0,0 +1,24 @@
+package maze;
+
+import models.Mouse;
+
+/**
+ * Ouvinte de eventos dos ratos de um labirinto.
+ * Os métodos são chamados na thread que causou o evento, então devem ser rápidos.
+ */
+public interface MazeListener {
+    /**
+     * Rato adicionado ao labirinto (já na posição inicial)
+     */
+    default void onMouseAdded(Mouse mouse) {}
+
+    /**
+     * Rato mudou de posição
+     */
+    default void onMouseMoved(Mouse mouse, int fromX, int fromY, int toX, int toY) {}
+
+    /**
+     * Rato removido do labirinto
+     */
+    default void onMouseRemoved(Mouse mouse) {}
+}
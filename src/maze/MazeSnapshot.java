@@ -0,0 +1,186 @@
+package maze;
+
+import models.MouseState;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Estado completo de uma simulação num instante: labirinto, relógio e todos os ratos.
+ * Capturado em memória por Maze.captureSnapshot() e gravado em disco depois,
+ * fora do lock, para não segurar os ratos durante a escrita.
+ */
+public class MazeSnapshot {
+    private static final int MAGIC = 0x4C414253; // "LABS"
+    // Versão 2: bitmaps do modo enxame
+    private static final int VERSION = 2;
+
+    final int width;
+    final int height;
+    final int endX, endY;
+    final int[][] matrix;
+    final long simNanos;
+    final double timeScale;
+    final int nextMouseId;
+    final List<MouseState> mice;
+    // Bitmaps do mapa compartilhado (null se o modo enxame estava desligado)
+    final long[] swarmVisited;
+    final long[] swarmDeadEnds;
+
+    MazeSnapshot(int width, int height, int endX, int endY, int[][] matrix,
+                 long simNanos, double timeScale, int nextMouseId, List<MouseState> mice,
+                 long[] swarmVisited, long[] swarmDeadEnds) {
+        this.width = width;
+        this.height = height;
+        this.endX = endX;
+        this.endY = endY;
+        this.matrix = matrix;
+        this.simNanos = simNanos;
+        this.timeScale = timeScale;
+        this.nextMouseId = nextMouseId;
+        this.mice = mice;
+        this.swarmVisited = swarmVisited;
+        this.swarmDeadEnds = swarmDeadEnds;
+    }
+
+    public int getMouseCount() { return mice.size(); }
+    public long getSimNanos() { return simNanos; }
+    public boolean isSwarmMode() { return swarmVisited != null; }
+
+    /**
+     * Grava o snapshot num arquivo binário. Escreve num temporário e troca no final,
+     * então um checkpoint interrompido nunca corrompe o anterior.
+     */
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(endX);
+            out.writeInt(endY);
+            byte[] row = new byte[width];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    row[x] = (byte) matrix[y][x];
+                }
+                out.write(row);
+            }
+
+            out.writeLong(simNanos);
+            out.writeDouble(timeScale);
+            out.writeInt(nextMouseId);
+            out.writeInt(mice.size());
+            for (MouseState mouse : mice) {
+                out.writeInt(mouse.id);
+                out.writeInt(mouse.velocityMs);
+                out.writeInt(mouse.x);
+                out.writeInt(mouse.y);
+                out.writeBoolean(mouse.hasReachedEnd);
+                out.writeInt(mouse.stuckCounter);
+                out.writeLong(mouse.randomState);
+                writeInts(out, mouse.visitedPositions);
+                writeInts(out, mouse.pathStack);
+            }
+
+            out.writeBoolean(swarmVisited != null);
+            if (swarmVisited != null) {
+                writeLongs(out, swarmVisited);
+                writeLongs(out, swarmDeadEnds);
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Lê um snapshot gravado por write()
+     */
+    public static MazeSnapshot read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Arquivo não é um checkpoint de labirinto: " + file);
+            }
+            int version = in.readInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Versão de checkpoint não suportada: " + version);
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            int endX = in.readInt();
+            int endY = in.readInt();
+            int[][] matrix = new int[height][width];
+            byte[] row = new byte[width];
+            for (int y = 0; y < height; y++) {
+                in.readFully(row);
+                for (int x = 0; x < width; x++) {
+                    matrix[y][x] = row[x];
+                }
+            }
+
+            long simNanos = in.readLong();
+            double timeScale = in.readDouble();
+            int nextMouseId = in.readInt();
+            int count = in.readInt();
+            List<MouseState> mice = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                int velocityMs = in.readInt();
+                int x = in.readInt();
+                int y = in.readInt();
+                boolean hasReachedEnd = in.readBoolean();
+                int stuckCounter = in.readInt();
+                long randomState = in.readLong();
+                int[] visited = readInts(in);
+                int[] path = readInts(in);
+                mice.add(new MouseState(id, velocityMs, x, y, hasReachedEnd, stuckCounter,
+                        randomState, visited, path));
+            }
+
+            // Versão 1 não tinha modo enxame
+            long[] swarmVisited = null;
+            long[] swarmDeadEnds = null;
+            if (version >= 2 && in.readBoolean()) {
+                swarmVisited = readLongs(in);
+                swarmDeadEnds = readLongs(in);
+            }
+            return new MazeSnapshot(width, height, endX, endY, matrix, simNanos, timeScale, nextMouseId, mice,
+                    swarmVisited, swarmDeadEnds);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    private static long[] readLongs(DataInputStream in) throws IOException {
+        long[] values = new long[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,75 @@
+package maze;
+
+import models.Mouse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registro concorrente dos ratos de um labirinto.
+ * Ids são alocados atomicamente e o armazenamento é segmentado (ConcurrentHashMap),
+ * então adicionar/remover ratos nunca bloqueia quem está percorrendo o registro.
+ */
+public class MouseRegistry {
+    private final AtomicInteger nextId = new AtomicInteger(0);
+    private final ConcurrentHashMap<Integer, Mouse> mice = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva o próximo id livre (nunca reutilizado)
+     */
+    public int allocateId() {
+        return nextId.getAndIncrement();
+    }
+
+    /**
+     * Próximo id que será alocado (para checkpoints)
+     */
+    int peekNextId() {
+        return nextId.get();
+    }
+
+    /**
+     * Garante que ids futuros não colidam com os restaurados de um checkpoint
+     */
+    void advanceNextId(int minimum) {
+        nextId.accumulateAndGet(minimum, Math::max);
+    }
+
+    /**
+     * Registra um rato já construído
+     */
+    public void add(Mouse mouse) {
+        mice.put(mouse.getId(), mouse);
+    }
+
+    /**
+     * Remove um rato pelo id, retornando null se ele não existir
+     */
+    public Mouse remove(int id) {
+        return mice.remove(id);
+    }
+
+    public Mouse get(int id) {
+        return mice.get(id);
+    }
+
+    /**
+     * Visão fracamente consistente: pode ser percorrida durante inserções/remoções
+     * sem lançar ConcurrentModificationException e sem travar os escritores
+     */
+    public Collection<Mouse> values() {
+        return mice.values();
+    }
+
+    /**
+     * Cópia do estado atual, ordenada por id
+     */
+    public List<Mouse> snapshot() {
+        List<Mouse> copy = new ArrayList<>(mice.values());
+        copy.sort(Comparator.comparingInt(Mouse::getId));
+        return copy;
+    }
+
+    public int size() { return mice.size(); }
+    public boolean isEmpty() { return mice.isEmpty(); }
+}
@@ -0,0 +1,159 @@
+package maze;
+
+import java.util.*;
+
+/**
+ * Índice das células livres de um labirinto, montado uma única vez.
+ * - Sorteio uniforme de posição inicial em O(1), opcionalmente sem repetir células.
+ * - Busca da célula mais próxima (Manhattan) que satisfaça um filtro, usando baldes
+ *   espaciais de BUCKET_SIZE x BUCKET_SIZE: só os baldes próximos são examinados.
+ */
+public class OpenCellIndex {
+    /**
+     * Filtro de células para a busca por proximidade
+     */
+    public interface CellFilter {
+        boolean accept(int x, int y);
+    }
+
+    private static final int BUCKET_SIZE = 8;
+
+    private final int width;
+
+    // Células onde um rato pode nascer (livres, internas, fora da saída), codificadas como y * width + x
+    private final int[] spawnCells;
+
+    // Sorteio sem repetição: Fisher-Yates parcial sobre uma cópia de spawnCells
+    private int[] shuffled;
+    private int taken = 0;
+
+    // Baldes espaciais em formato compacto: as células do balde b ficam em
+    // bucketCells[bucketStart[b] .. bucketStart[b + 1])
+    private final int bucketsX, bucketsY;
+    private final int[] bucketStart;
+    private final int[] bucketCells;
+
+    OpenCellIndex(Maze maze) {
+        this.width = maze.getWidth();
+        int height = maze.getHeight();
+        this.bucketsX = (width + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.bucketsY = (height + BUCKET_SIZE - 1) / BUCKET_SIZE;
+
+        // Primeira passada: conta as células
+        int[] bucketCount = new int[bucketsX * bucketsY];
+        int spawnCount = 0;
+        for (int row = 1; row < height - 1; row++) {
+            for (int col = 1; col < width - 1; col++) {
+                if (maze.isValidPosition(col, row)) {
+                    bucketCount[bucketOf(col, row)]++;
+                    if (!maze.isEndPosition(col, row)) {
+                        spawnCount++;
+                    }
+                }
+            }
+        }
+
+        bucketStart = new int[bucketCount.length + 1];
+        for (int b = 0; b < bucketCount.length; b++) {
+            bucketStart[b + 1] = bucketStart[b] + bucketCount[b];
+        }
+
+        // Segunda passada: preenche os arrays
+        spawnCells = new int[spawnCount];
+        bucketCells = new int[bucketStart[bucketCount.length]];
+        int[] fill = Arrays.copyOf(bucketStart, bucketCount.length);
+        int spawnIndex = 0;
+        for (int row = 1; row < height - 1; row++) {
+            for (int col = 1; col < width - 1; col++) {
+                if (maze.isValidPosition(col, row)) {
+                    int cell = row * width + col;
+                    bucketCells[fill[bucketOf(col, row)]++] = cell;
+                    if (!maze.isEndPosition(col, row)) {
+                        spawnCells[spawnIndex++] = cell;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Número de células onde um rato pode nascer
+     */
+    public int size() {
+        return spawnCells.length;
+    }
+
+    public int cellX(int cell) { return cell % width; }
+    public int cellY(int cell) { return cell / width; }
+
+    /**
+     * Sorteia uma célula de nascimento uniformemente, ou -1 se não houver nenhuma
+     */
+    public int sample(Random random) {
+        if (spawnCells.length == 0) return -1;
+        return spawnCells[random.nextInt(spawnCells.length)];
+    }
+
+    /**
+     * Sorteia uma célula ainda não sorteada por este método.
+     * Retorna -1 quando todas as células já foram usadas.
+     */
+    public synchronized int sampleDistinct(Random random) {
+        if (shuffled == null) {
+            shuffled = spawnCells.clone();
+        }
+        if (taken >= shuffled.length) return -1;
+
+        int pick = taken + random.nextInt(shuffled.length - taken);
+        int cell = shuffled[pick];
+        shuffled[pick] = shuffled[taken];
+        shuffled[taken] = cell;
+        taken++;
+        return cell;
+    }
+
+    /**
+     * Encontra a célula livre mais próxima (distância Manhattan) aceita pelo filtro.
+     * Retorna {x, y} ou null se nenhuma célula for aceita.
+     */
+    public int[] findNearest(int x, int y, CellFilter filter) {
+        int originX = Math.min(Math.max(x / BUCKET_SIZE, 0), bucketsX - 1);
+        int originY = Math.min(Math.max(y / BUCKET_SIZE, 0), bucketsY - 1);
+        int maxRing = Math.max(Math.max(originX, bucketsX - 1 - originX),
+                Math.max(originY, bucketsY - 1 - originY));
+
+        int bestCell = -1;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Qualquer célula deste anel está a pelo menos (ring - 1) * BUCKET_SIZE + 1 de distância
+            if (ring > 0 && bestDistance <= (ring - 1) * BUCKET_SIZE) break;
+
+            for (int by = originY - ring; by <= originY + ring; by++) {
+                if (by < 0 || by >= bucketsY) continue;
+                // Nas linhas do meio do anel, só as duas colunas da borda
+                int step = (by == originY - ring || by == originY + ring) ? 1 : Math.max(1, 2 * ring);
+                for (int bx = originX - ring; bx <= originX + ring; bx += step) {
+                    if (bx < 0 || bx >= bucketsX) continue;
+                    int bucket = by * bucketsX + bx;
+                    for (int i = bucketStart[bucket]; i < bucketStart[bucket + 1]; i++) {
+                        int cell = bucketCells[i];
+                        int cx = cell % width;
+                        int cy = cell / width;
+                        int distance = Math.abs(cx - x) + Math.abs(cy - y);
+                        if (distance < bestDistance && filter.accept(cx, cy)) {
+                            bestDistance = distance;
+                            bestCell = cell;
+                        }
+                    }
+                }
+            }
+        }
+
+        return bestCell < 0 ? null : new int[]{bestCell % width, bestCell / width};
+    }
+
+    private int bucketOf(int x, int y) {
+        return (y / BUCKET_SIZE) * bucketsX + (x / BUCKET_SIZE);
+    }
+}
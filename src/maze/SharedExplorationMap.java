@@ -0,0 +1,122 @@
+package maze;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mapa de exploração compartilhado pelos ratos no modo enxame.
+ * Dois bitmaps (1 bit por célula) em AtomicLongArray, atualizados com CAS sem locks:
+ * - visitado: algum rato já passou pela célula;
+ * - beco sem saída: algum rato já explorou tudo depois dela sem achar a saída.
+ * Contadores de CAS permitem medir a contenção conforme o número de ratos cresce.
+ */
+public class SharedExplorationMap {
+    private final int width;
+    private final int height;
+    private final AtomicLongArray visited;
+    private final AtomicLongArray deadEnds;
+
+    private final LongAdder casAttempts = new LongAdder();
+    private final LongAdder casFailures = new LongAdder();
+
+    public SharedExplorationMap(int width, int height) {
+        this.width = width;
+        this.height = height;
+        int words = (width * height + 63) / 64;
+        this.visited = new AtomicLongArray(words);
+        this.deadEnds = new AtomicLongArray(words);
+    }
+
+    /**
+     * Recria o mapa a partir dos bitmaps de um checkpoint
+     */
+    SharedExplorationMap(int width, int height, long[] visited, long[] deadEnds) {
+        this.width = width;
+        this.height = height;
+        this.visited = new AtomicLongArray(visited);
+        this.deadEnds = new AtomicLongArray(deadEnds);
+    }
+
+    /**
+     * Marca a célula como visitada. Retorna true se nenhum rato tinha passado por ela.
+     */
+    public boolean markVisited(int x, int y) {
+        return setBit(visited, x, y);
+    }
+
+    /**
+     * Marca a célula como beco sem saída. Retorna true se a marca é nova.
+     */
+    public boolean markDeadEnd(int x, int y) {
+        return setBit(deadEnds, x, y);
+    }
+
+    public boolean isVisited(int x, int y) {
+        return getBit(visited, x, y);
+    }
+
+    public boolean isDeadEnd(int x, int y) {
+        return getBit(deadEnds, x, y);
+    }
+
+    public long getCasAttempts() { return casAttempts.sum(); }
+    public long getCasFailures() { return casFailures.sum(); }
+
+    /**
+     * Conta as células marcadas como beco sem saída
+     */
+    public int countDeadEnds() {
+        int count = 0;
+        for (int i = 0; i < deadEnds.length(); i++) {
+            count += Long.bitCount(deadEnds.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * Copia os bitmaps para um checkpoint. As marcas só são adicionadas, nunca removidas,
+     * então uma cópia feita com ratos andando é sempre um estado que o enxame já alcançou.
+     */
+    long[] copyVisited() {
+        return copy(visited);
+    }
+
+    long[] copyDeadEnds() {
+        return copy(deadEnds);
+    }
+
+    private static long[] copy(AtomicLongArray bits) {
+        long[] words = new long[bits.length()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = bits.get(i);
+        }
+        return words;
+    }
+
+    private boolean setBit(AtomicLongArray bits, int x, int y) {
+        if (!inBounds(x, y)) return false;
+        int cell = y * width + x;
+        int word = cell >>> 6;
+        long mask = 1L << (cell & 63);
+
+        while (true) {
+            long current = bits.get(word);
+            // Já marcado: nenhuma escrita, nenhuma contenção
+            if ((current & mask) != 0) return false;
+            casAttempts.increment();
+            if (bits.compareAndSet(word, current, current | mask)) return true;
+            // Outro rato alterou a mesma palavra (64 células) no meio tempo
+            casFailures.increment();
+        }
+    }
+
+    private boolean getBit(AtomicLongArray bits, int x, int y) {
+        if (!inBounds(x, y)) return false;
+        int cell = y * width + x;
+        return (bits.get(cell >>> 6) & (1L << (cell & 63))) != 0;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+}
@@ -0,0 +1,176 @@
+package maze;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Relógio da simulação: o tempo simulado anda {@code timeScale} vezes mais rápido
+ * que o tempo real e fica congelado enquanto pausado.
+ * Os agendadores guardam prazos em tempo simulado e convertem para atraso real
+ * na hora de agendar; quem precisa reagir a mudanças se registra como ouvinte.
+ */
+public class SimulationClock {
+    public static final double MIN_TIME_SCALE = 0.1;
+    public static final double MAX_TIME_SCALE = 1000.0;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    // Estado imutável trocado atomicamente, para leituras sem lock
+    private volatile Base base = new Base(0, System.nanoTime(), 1.0, false);
+
+    /**
+     * Tempo simulado atual em nanossegundos
+     */
+    public long nowNanos() {
+        return base.simNanosAt(System.nanoTime());
+    }
+
+    /**
+     * Converte um prazo em tempo simulado para o atraso real até ele,
+     * ou Long.MAX_VALUE se o relógio estiver pausado
+     */
+    public long realDelayNanos(long simDeadlineNanos) {
+        Base current = base;
+        if (current.paused) return Long.MAX_VALUE;
+        long remaining = simDeadlineNanos - current.simNanosAt(System.nanoTime());
+        return remaining <= 0 ? 0 : (long) (remaining / current.scale);
+    }
+
+    /**
+     * Dorme {@code simMs} milissegundos de tempo simulado, sem espera ativa.
+     * Pausas e mudanças de escala durante a espera são respeitadas.
+     */
+    public void sleep(long simMs) throws InterruptedException {
+        long deadline = nowNanos() + TimeUnit.MILLISECONDS.toNanos(simMs);
+        lock.lock();
+        try {
+            while (true) {
+                if (base.paused) {
+                    changed.await();
+                    continue;
+                }
+                long delay = realDelayNanos(deadline);
+                if (delay <= 0) return;
+                changed.awaitNanos(delay);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pausa o tempo simulado
+     */
+    public void pause() {
+        lock.lock();
+        try {
+            if (base.paused) return;
+            base = rebase(base.scale, true);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        fireChanged();
+    }
+
+    /**
+     * Retoma o tempo simulado de onde parou
+     */
+    public void resume() {
+        lock.lock();
+        try {
+            if (!base.paused) return;
+            base = rebase(base.scale, false);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        fireChanged();
+    }
+
+    /**
+     * Altera a velocidade da simulação (1.0 = tempo real)
+     */
+    public void setTimeScale(double scale) {
+        if (scale < MIN_TIME_SCALE || scale > MAX_TIME_SCALE || Double.isNaN(scale)) {
+            throw new IllegalArgumentException("Escala de tempo fora do intervalo ["
+                    + MIN_TIME_SCALE + ", " + MAX_TIME_SCALE + "]: " + scale);
+        }
+        lock.lock();
+        try {
+            base = rebase(scale, base.paused);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        fireChanged();
+    }
+
+    /**
+     * Reposiciona o tempo simulado (restauração de checkpoint)
+     */
+    void restore(long simNanos, double scale) {
+        lock.lock();
+        try {
+            base = new Base(simNanos, System.nanoTime(), scale, base.paused);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        fireChanged();
+    }
+
+    public double getTimeScale() { return base.scale; }
+    public boolean isPaused() { return base.paused; }
+
+    /**
+     * Registra um ouvinte chamado após cada pausa, retomada ou mudança de escala
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Fixa o tempo simulado acumulado até agora e aplica o novo estado (chamado com o lock)
+     */
+    private Base rebase(double scale, boolean paused) {
+        long now = System.nanoTime();
+        return new Base(base.simNanosAt(now), now, scale, paused);
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Ponto de referência: tempo simulado = simNanos + (agora - realNanos) * scale
+     */
+    private static class Base {
+        final long simNanos;
+        final long realNanos;
+        final double scale;
+        final boolean paused;
+
+        Base(long simNanos, long realNanos, double scale, boolean paused) {
+            this.simNanos = simNanos;
+            this.realNanos = realNanos;
+            this.scale = scale;
+            this.paused = paused;
+        }
+
+        long simNanosAt(long realNow) {
+            if (paused) return simNanos;
+            return simNanos + (long) ((realNow - realNanos) * scale);
+        }
+    }
+}
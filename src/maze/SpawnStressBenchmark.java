@@ -0,0 +1,95 @@
+package maze;
+
+import models.Mouse;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estressa a entrada e saída de ratos com a simulação em andamento: adiciona ratos
+ * no ritmo pedido e remove os mais antigos para manter a população estável,
+ * enquanto o play() move todos. Informa a taxa alcançada, confere os invariantes
+ * no final (população, ids únicos, nenhum erro nos passos) e sai com código 1 se
+ * algum falhar.
+ * Uso: java maze.SpawnStressBenchmark [spawns por segundo] [segundos] [população] [tamanho]
+ */
+public class SpawnStressBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int targetRate = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int population = args.length > 2 ? Integer.parseInt(args[2]) : 5_000;
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : 61;
+
+        Maze maze = new MazeGenerator(42).generateMaze(size, size);
+        maze.setQuiet(true);
+        Deque<Integer> alive = new ArrayDeque<>();
+        Set<Integer> allIds = new HashSet<>();
+        long duplicateIds = 0;
+
+        long spawned = 0;
+        long removed = 0;
+        long elapsedNanos;
+        try {
+            int first = maze.addMouse(10).getId();
+            alive.add(first);
+            allIds.add(first);
+            maze.play(1000);
+
+            long start = System.nanoTime();
+            long end = start + TimeUnit.SECONDS.toNanos(seconds);
+            long nextReport = start + TimeUnit.SECONDS.toNanos(1);
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                // Quantos spawns já deveriam ter acontecido até agora no ritmo pedido
+                long due = (now - start) * targetRate / 1_000_000_000L;
+                while (spawned < due) {
+                    int id = maze.addMouse(10).getId();
+                    if (!allIds.add(id)) {
+                        duplicateIds++;
+                    }
+                    alive.add(id);
+                    spawned++;
+                    if (alive.size() > population && maze.removeMouse(alive.poll())) {
+                        removed++;
+                    }
+                }
+                if (now >= nextReport) {
+                    System.out.printf("⏱️ %d spawns, %d remoções, %d ratos vivos, %d erros%n",
+                            spawned, removed, maze.getMouseCount(), maze.getStepErrors());
+                    nextReport += TimeUnit.SECONDS.toNanos(1);
+                }
+                Thread.sleep(1);
+            }
+            elapsedNanos = System.nanoTime() - start;
+        } finally {
+            maze.stop();
+        }
+
+        double elapsedSeconds = elapsedNanos / 1e9;
+        System.out.printf("=== %d spawns e %d remoções em %.1f s ===%n", spawned, removed, elapsedSeconds);
+        System.out.printf("Taxa alcançada: %.0f spawns/s (alvo %d) | erros nos passos: %d%n",
+                spawned / elapsedSeconds, targetRate, maze.getStepErrors());
+
+        // Invariantes: o labirinto tem exatamente os ratos que o benchmark manteve vivos
+        Set<Integer> mazeIds = new HashSet<>();
+        int listed = 0;
+        for (Mouse mouse : maze.getMice()) {
+            mazeIds.add(mouse.getId());
+            listed++;
+        }
+        boolean ok = check("população viva = " + alive.size(),
+                maze.getMouseCount() == alive.size() && listed == alive.size()
+                        && alive.size() == Math.min(population, spawned + 1));
+        ok &= check("ids do labirinto = ids mantidos vivos", mazeIds.equals(new HashSet<>(alive)));
+        ok &= check("nenhum id repetido (" + duplicateIds + ")", duplicateIds == 0 && mazeIds.size() == listed);
+        ok &= check("nenhum erro nos passos (" + maze.getStepErrors() + ")", maze.getStepErrors() == 0);
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(String description, boolean passed) {
+        System.out.println((passed ? "✅ " : "❌ ") + description);
+        return passed;
+    }
+}
@@ -0,0 +1,132 @@
+package maze;
+
+import models.Mouse;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mede quantos passos (somando todos os ratos) são necessários até o primeiro rato
+ * chegar à saída, com exploração independente e em modo enxame, e a contenção de CAS
+ * no mapa compartilhado conforme o número de ratos cresce.
+ * Uso: java maze.SwarmBenchmark [tamanho] [rodadas] [ratos...]
+ */
+public class SwarmBenchmark {
+    private static final long MAX_STEPS_PER_MOUSE = 200_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 61;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int[] counts = {1, 2, 4, 8, 16, 32, 64};
+        if (args.length > 2) {
+            counts = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) {
+                counts[i - 2] = Integer.parseInt(args[i]);
+            }
+        }
+
+        System.out.println("=== Enxame vs exploração independente (labirinto " + size + "x" + size
+                + ", " + rounds + " rodadas, ratos semeados por rodada e id) ===");
+        System.out.println("ratos | passos indep. média [mín-máx] | passos enxame média [mín-máx] "
+                + "| CAS tentativas | CAS falhas");
+        for (int count : counts) {
+            long[] independent = new long[rounds];
+            long[] swarm = new long[rounds];
+            long attempts = 0;
+            long failures = 0;
+            for (int round = 0; round < rounds; round++) {
+                // Mesma rodada = mesmo labirinto e mesmos ratos nos dois modos
+                independent[round] = run(size, round, count, false).totalSteps;
+                Result result = run(size, round, count, true);
+                swarm[round] = result.totalSteps;
+                attempts += result.casAttempts;
+                failures += result.casFailures;
+            }
+            System.out.printf("%5d | %30s | %30s | %14d | %10d%n", count,
+                    spread(independent), spread(swarm), attempts / rounds, failures / rounds);
+        }
+    }
+
+    /**
+     * Média e faixa das rodadas: uma rodada sozinha varia demais para comparar os modos
+     */
+    private static String spread(long[] values) {
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long value : values) {
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        return String.format("%d [%d-%d]", sum / values.length, min, max);
+    }
+
+    /**
+     * Executa uma rodada: os ratos andam sem pausas, divididos entre as threads disponíveis,
+     * até o primeiro chegar à saída
+     */
+    public static Result run(int size, long seed, int count, boolean swarmMode) throws InterruptedException {
+        Maze maze = new MazeGenerator(seed).generateMaze(size, size);
+        maze.setQuiet(true);
+        maze.setMouseSeed(seed);
+        if (swarmMode) {
+            maze.enableSwarmMode();
+        }
+        maze.addMice(count, 1);
+        List<Mouse> mice = maze.getMice();
+
+        int threads = Math.min(count, Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicBoolean found = new AtomicBoolean(false);
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            executor.execute(() -> {
+                try {
+                    while (!found.get()) {
+                        boolean progressed = false;
+                        for (int i = first; i < mice.size(); i += threads) {
+                            Mouse mouse = mice.get(i);
+                            if (mouse.getStepCount() >= MAX_STEPS_PER_MOUSE) continue;
+                            mouse.step();
+                            progressed = true;
+                            if (mouse.hasReachedEnd()) {
+                                found.set(true);
+                                break;
+                            }
+                        }
+                        if (!progressed) break;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+
+        long totalSteps = 0;
+        for (Mouse mouse : mice) {
+            totalSteps += mouse.getStepCount();
+        }
+        SharedExplorationMap map = maze.getSwarmMap();
+        return new Result(totalSteps, map == null ? 0 : map.getCasAttempts(),
+                map == null ? 0 : map.getCasFailures());
+    }
+
+    /**
+     * Resultado de uma rodada
+     */
+    public static class Result {
+        public final long totalSteps;
+        public final long casAttempts;
+        public final long casFailures;
+
+        Result(long totalSteps, long casAttempts, long casFailures) {
+            this.totalSteps = totalSteps;
+            this.casAttempts = casAttempts;
+            this.casFailures = casFailures;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package maze;
+
+import models.Mouse;
+
+import java.util.*;
+
+/**
+ * Faz ratos andarem num mundo infinito rumo a uma saída distante e mede a latência
+ * de geração dos chunks e a ocupação do cache LRU.
+ * Uso: java maze.WorldBenchmark [ratos] [passos] [distância da saída] [chunks em cache]
+ */
+public class WorldBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int distance = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int maxChunks = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        Maze maze = new MazeGenerator(42).generateWorld(41, 21, distance, distance, maxChunks);
+        ChunkedMazeWorld world = maze.getWorld();
+        maze.setQuiet(true);
+
+        long start = System.nanoTime();
+        maze.addMice(count, 1);
+        List<Mouse> mice = maze.getMice();
+        for (int s = 0; s < steps; s++) {
+            for (Mouse mouse : mice) {
+                mouse.step();
+            }
+        }
+        int farthest = 0;
+        for (Mouse mouse : mice) {
+            farthest = Math.max(farthest, Math.abs(mouse.getX()) + Math.abs(mouse.getY()));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("=== %d ratos, %d passos, saída em (%d, %d) ===%n",
+                count, steps, maze.getEndX(), maze.getEndY());
+        System.out.printf("Maior distância da origem: %d | %.0f passos/s%n",
+                farthest, (double) count * steps / seconds);
+        System.out.println(world.getStats());
+    }
+}
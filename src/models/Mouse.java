@@ -1,6 +1,8 @@
 package models;
 
 import maze.Maze;
+import maze.OpenCellIndex;
+import maze.SharedExplorationMap;
 import java.util.*;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -14,57 +16,97 @@ public class Mouse implements Runnable {
 
     // Atributos que precisam de sincronização mais complexa
     private Maze maze;
-    private Set<String> visitedPositions = Collections.synchronizedSet(new HashSet<>());
+    // Ordem de inserção: as limpezas de histórico descartam de fato as posições mais antigas
+    private Set<String> visitedPositions = Collections.synchronizedSet(new LinkedHashSet<>());
     private Stack<int[]> pathStack = new Stack<>();
-    private Random random = new Random();
+    private RestorableRandom random = new RestorableRandom();
     private volatile int stuckCounter = 0;
+    private volatile long stepCount = 0;
     private static final int MAX_STUCK_ATTEMPTS = 5;
+    // No mundo infinito o rato pode andar para sempre: histórico e pilha ficam limitados
+    private static final int WORLD_HISTORY_LIMIT = 4096;
     private int velocityMs;
 
     // Locks para operações críticas
     private final ReentrantLock movementLock = new ReentrantLock();
     private final ReentrantLock pathLock = new ReentrantLock();
 
+    // Símbolos diferentes para cada rato
+    private static final String[] SYMBOLS = {"@", "♦", "♣", "♠", "♥", "◆", "◇", "★", "☆", "●"};
+
     public Mouse(int id, Maze maze, int velocityMs) {
         this.id = id;
         this.maze = maze;
         this.velocityMs = velocityMs;
-        // Símbolos diferentes para cada rato
-        String[] symbols = {"@", "♦", "♣", "♠", "♥", "◆", "◇", "★", "☆", "●"};
-        this.symbol = symbols[id % symbols.length];
+        this.symbol = SYMBOLS[id % SYMBOLS.length];
+        Long seed = maze.getMouseSeed();
+        if (seed != null) {
+            random.setSeed(seedFor(seed, id));
+        }
         setInitialPosition();
     }
 
+    /**
+     * Mistura a semente do labirinto com o id: sementes vizinhas em java.util.Random
+     * geram primeiros sorteios parecidos, então cada rato recebe uma bem espalhada
+     */
+    private static long seedFor(long seed, int id) {
+        long z = seed + 0x9E3779B97F4A7C15L * (id + 1L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Recria um rato a partir de um checkpoint, sem sortear nova posição
+     */
+    public Mouse(MouseState state, Maze maze) {
+        this.id = state.id;
+        this.maze = maze;
+        this.velocityMs = state.velocityMs;
+        this.symbol = SYMBOLS[id % SYMBOLS.length];
+        this.x = state.x;
+        this.y = state.y;
+        this.hasReachedEnd = state.hasReachedEnd;
+        this.stuckCounter = state.stuckCounter;
+        this.random.setState(state.randomState);
+        for (int i = 0; i + 1 < state.visitedPositions.length; i += 2) {
+            visitedPositions.add(state.visitedPositions[i] + "," + state.visitedPositions[i + 1]);
+        }
+        for (int i = 0; i + 1 < state.pathStack.length; i += 2) {
+            pathStack.push(new int[]{state.pathStack[i], state.pathStack[i + 1]});
+        }
+    }
+
     /**
      * Define uma posição inicial válida para este rato (thread-safe)
      */
     private void setInitialPosition() {
         movementLock.lock();
         try {
-            List<int[]> validPositions = new ArrayList<>();
-
-            // Encontra todas as posições válidas
-            for (int row = 1; row < maze.getHeight() - 1; row++) {
-                for (int col = 1; col < maze.getWidth() - 1; col++) {
-                    if (maze.isValidPosition(col, row) &&
-                            !maze.isEndPosition(col, row) &&
-                            !maze.isPositionOccupied(col, row, this.id)) {
-                        validPositions.add(new int[]{col, row});
-                    }
-                }
+            // Sorteio O(1) no índice de células livres do labirinto
+            OpenCellIndex openCells = maze.getOpenCells();
+            int cell = -1;
+            if (maze.isDistinctSpawns()) {
+                cell = openCells.sampleDistinct(random);
+            }
+            if (cell < 0) {
+                cell = openCells.sample(random);
             }
 
-            if (!validPositions.isEmpty()) {
-                int randomIndex = random.nextInt(validPositions.size());
-                int[] position = validPositions.get(randomIndex);
-                this.x = position[0];
-                this.y = position[1];
-                System.out.println("🐭 Rato " + id + " (" + symbol + ") iniciou em: (" + x + ", " + y + ")");
+            if (cell >= 0) {
+                this.x = openCells.cellX(cell);
+                this.y = openCells.cellY(cell);
+                if (!maze.isQuiet()) {
+                    System.out.println("🐭 Rato " + id + " (" + symbol + ") iniciou em: (" + x + ", " + y + ")");
+                }
             } else {
                 // Posição padrão se não encontrar espaço
                 this.x = 1;
                 this.y = 1;
-                System.out.println("⚠️ Rato " + id + " usando posição padrão (1,1)");
+                if (!maze.isQuiet()) {
+                    System.out.println("⚠️ Rato " + id + " usando posição padrão (1,1)");
+                }
             }
         } finally {
             movementLock.unlock();
@@ -78,24 +120,8 @@ public class Mouse implements Runnable {
     public void run() {
         while (isRunning && !Thread.currentThread().isInterrupted()) {
             try {
-                // Se chegou ao destino, para de se mover mas não reinicia
-                if (hasReachedEnd) {
-                    Thread.sleep(5000); // Espera 5 segundos antes de verificar novamente
-                    continue;
-                }
-
-                // Tenta mover o rato
-                boolean moved = move();
-
-                if (!moved) {
-                    // Se não conseguiu se mover, tenta estratégias de recuperação
-                    handleStuckSituation();
-                }
-
-                // Pausa entre movimentos com pequena variação
-                int variation = random.nextInt(velocityMs / 4);
-                Thread.sleep(velocityMs + variation - (velocityMs / 8));
-
+                // Executa um passo e pausa até o próximo (respeitando pausa e escala de tempo)
+                maze.getClock().sleep(step());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
@@ -105,6 +131,37 @@ public class Mouse implements Runnable {
         }
     }
 
+    /**
+     * Executa um único passo do rato, sem dormir.
+     * Retorna quantos milissegundos esperar até o próximo passo.
+     * O passo inteiro (movimento, recuperação e sorteio da pausa) acontece sob
+     * o lock de movimento, para que um checkpoint só veja estados entre passos.
+     */
+    public long step() throws InterruptedException {
+        movementLock.lock();
+        try {
+            // Se chegou ao destino, para de se mover mas não reinicia
+            if (hasReachedEnd) {
+                return 5000; // Espera 5 segundos antes de verificar novamente
+            }
+            stepCount++;
+
+            // Tenta mover o rato
+            boolean moved = move();
+
+            if (!moved) {
+                // Se não conseguiu se mover, tenta estratégias de recuperação
+                handleStuckSituation();
+            }
+
+            // Pausa entre movimentos com pequena variação
+            int variation = random.nextInt(Math.max(1, velocityMs / 4));
+            return velocityMs + variation - (velocityMs / 8);
+        } finally {
+            movementLock.unlock();
+        }
+    }
+
     /**
      * Move o rato um passo em direção ao objetivo (thread-safe)
      */
@@ -116,7 +173,9 @@ public class Mouse implements Runnable {
             // Verifica se chegou ao destino
             if (x == maze.getEndX() && y == maze.getEndY()) {
                 hasReachedEnd = true;
-                System.out.println("🎉 RATO " + id + " (" + symbol + ") CHEGOU AO DESTINO!");
+                if (!maze.isQuiet()) {
+                    System.out.println("🎉 RATO " + id + " (" + symbol + ") CHEGOU AO DESTINO!");
+                }
                 return true;
             }
 
@@ -125,9 +184,16 @@ public class Mouse implements Runnable {
             // Adiciona posição atual ao histórico se é nova
             if (!visitedPositions.contains(currentPos)) {
                 visitedPositions.add(currentPos);
+                SharedExplorationMap swarm = maze.getSwarmMap();
+                if (swarm != null) {
+                    swarm.markVisited(x, y);
+                }
                 pathLock.lock();
                 try {
                     pathStack.push(new int[]{x, y});
+                    if (maze.getWorld() != null) {
+                        trimWorldHistory();
+                    }
                 } finally {
                     pathLock.unlock();
                 }
@@ -138,8 +204,7 @@ public class Mouse implements Runnable {
             int[] nextMove = findNextMove();
 
             if (nextMove != null) {
-                x = nextMove[0];
-                y = nextMove[1];
+                moveTo(nextMove[0], nextMove[1]);
                 stuckCounter = 0;
                 return true;
             } else {
@@ -157,7 +222,9 @@ public class Mouse implements Runnable {
      */
     private boolean handleStuckSituation() {
         if (stuckCounter >= MAX_STUCK_ATTEMPTS) {
-            System.out.println("🔄 Rato " + id + " explorando nova rota...");
+            if (!maze.isQuiet()) {
+                System.out.println("🔄 Rato " + id + " explorando nova rota...");
+            }
 
             // Estratégia 1: Limpar parte do histórico
             if (clearPartialHistory()) {
@@ -193,8 +260,7 @@ public class Mouse implements Runnable {
         // Tenta encontrar movimento após limpeza
         int[] nextMove = findNextMove();
         if (nextMove != null) {
-            x = nextMove[0];
-            y = nextMove[1];
+            moveTo(nextMove[0], nextMove[1]);
             return true;
         }
 
@@ -205,31 +271,14 @@ public class Mouse implements Runnable {
      * Move o rato para a área não explorada mais próxima (thread-safe)
      */
     private boolean moveToNearestUnexplored() {
-        List<int[]> unexploredPositions = new ArrayList<>();
-
-        // Encontra posições válidas não visitadas
-        for (int row = 1; row < maze.getHeight() - 1; row++) {
-            for (int col = 1; col < maze.getWidth() - 1; col++) {
-                String pos = col + "," + row;
-                if (maze.isValidPosition(col, row) && !visitedPositions.contains(pos)) {
-                    unexploredPositions.add(new int[]{col, row});
-                }
-            }
-        }
-
-        if (unexploredPositions.isEmpty()) return false;
+        // No mundo infinito o índice só cobre a janela inicial: não puxa o rato de volta para ela
+        if (maze.getWorld() != null) return false;
 
-        // Encontra a posição mais próxima
-        int[] nearestPos = unexploredPositions.get(0);
-        int minDistance = manhattanDistance(x, y, nearestPos[0], nearestPos[1]);
+        // Busca por baldes espaciais: só examina a vizinhança necessária
+        int[] nearestPos = maze.getOpenCells().findNearest(x, y,
+                (col, row) -> !visitedPositions.contains(col + "," + row));
 
-        for (int[] pos : unexploredPositions) {
-            int distance = manhattanDistance(x, y, pos[0], pos[1]);
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearestPos = pos;
-            }
-        }
+        if (nearestPos == null) return false;
 
         // Move em direção à posição mais próxima
         return moveTowardsTarget(nearestPos[0], nearestPos[1]);
@@ -258,14 +307,45 @@ public class Mouse implements Runnable {
         }
 
         if (bestMove != null) {
-            x = bestMove[0];
-            y = bestMove[1];
+            moveTo(bestMove[0], bestMove[1]);
             return true;
         }
 
         return false;
     }
 
+    /**
+     * Atualiza a posição do rato e avisa o labirinto (ouvintes como o gravador)
+     */
+    private void moveTo(int newX, int newY) {
+        int oldX = x;
+        int oldY = y;
+        if (oldX == newX && oldY == newY) return;
+        x = newX;
+        y = newY;
+        maze.notifyMouseMoved(this, oldX, oldY, newX, newY);
+    }
+
+    /**
+     * Descarta o quarto mais antigo do histórico e da pilha quando passam do limite
+     * (chamado com pathLock). O rato pode revisitar áreas antigas, mas a memória
+     * de cada rato deixa de crescer com a distância percorrida.
+     */
+    private void trimWorldHistory() {
+        if (visitedPositions.size() > WORLD_HISTORY_LIMIT) {
+            synchronized(visitedPositions) {
+                Iterator<String> oldest = visitedPositions.iterator();
+                for (int i = 0; i < WORLD_HISTORY_LIMIT / 4 && oldest.hasNext(); i++) {
+                    oldest.next();
+                    oldest.remove();
+                }
+            }
+        }
+        if (pathStack.size() > WORLD_HISTORY_LIMIT) {
+            pathStack.subList(0, WORLD_HISTORY_LIMIT / 4).clear();
+        }
+    }
+
     /**
      * Calcula distância Manhattan entre dois pontos
      */
@@ -281,7 +361,7 @@ public class Mouse implements Runnable {
         try {
             // Mantém apenas as últimas 8 posições para evitar loops
             if (visitedPositions.size() > 8) {
-                Set<String> recentPositions = Collections.synchronizedSet(new HashSet<>());
+                Set<String> recentPositions = new LinkedHashSet<>();
                 Stack<int[]> tempStack = new Stack<>();
 
                 // Preserva as 8 posições mais recentes
@@ -304,7 +384,9 @@ public class Mouse implements Runnable {
             pathLock.unlock();
         }
 
-        System.out.println("🔄 Rato " + id + " resetou exploração parcial");
+        if (!maze.isQuiet()) {
+            System.out.println("🔄 Rato " + id + " resetou exploração parcial");
+        }
     }
 
     /**
@@ -326,9 +408,30 @@ public class Mouse implements Runnable {
             }
         }
 
+        // Modo enxame: descarta becos já provados por outros ratos,
+        // desde que sobre alguma opção (nunca deixa o rato preso)
+        SharedExplorationMap swarm = activeSwarm();
+        if (swarm != null && !validMoves.isEmpty()) {
+            List<int[]> liveMoves = new ArrayList<>();
+            for (int[] move : validMoves) {
+                if (!swarm.isDeadEnd(move[0], move[1])) {
+                    liveMoves.add(move);
+                }
+            }
+            if (!liveMoves.isEmpty()) {
+                validMoves = liveMoves;
+            }
+        }
+
         if (!validMoves.isEmpty()) {
-            // Ordena por distância até o destino (heurística A*)
+            // Ordena por distância até o destino (heurística A*);
+            // no modo enxame, células que nenhum rato visitou vêm primeiro
             validMoves.sort((pos1, pos2) -> {
+                if (swarm != null) {
+                    int seen1 = swarm.isVisited(pos1[0], pos1[1]) ? 1 : 0;
+                    int seen2 = swarm.isVisited(pos2[0], pos2[1]) ? 1 : 0;
+                    if (seen1 != seen2) return Integer.compare(seen1, seen2);
+                }
                 int dist1 = manhattanDistance(pos1[0], pos1[1], maze.getEndX(), maze.getEndY());
                 int dist2 = manhattanDistance(pos2[0], pos2[1], maze.getEndX(), maze.getEndY());
                 return Integer.compare(dist1, dist2);
@@ -350,9 +453,15 @@ public class Mouse implements Runnable {
         try {
             if (pathStack.isEmpty()) return false;
 
+            SharedExplorationMap swarm = activeSwarm();
+
             // Remove posição atual do stack
             if (!pathStack.isEmpty()) {
-                pathStack.pop();
+                int[] current = pathStack.pop();
+                // Sem vizinhos novos: tudo depois desta célula já foi explorado
+                if (swarm != null && current[0] == x && current[1] == y) {
+                    swarm.markDeadEnd(x, y);
+                }
             }
 
             // Procura posição anterior com movimentos válidos
@@ -361,7 +470,7 @@ public class Mouse implements Runnable {
                 int backX = backPos[0];
                 int backY = backPos[1];
 
-                // Verifica se há movimentos não explorados
+                // Verifica se há movimentos não explorados (por este rato ou pelo enxame)
                 int[][] directions = {{0, -1}, {0, 1}, {1, 0}, {-1, 0}};
                 for (int[] dir : directions) {
                     int checkX = backX + dir[0];
@@ -370,13 +479,16 @@ public class Mouse implements Runnable {
 
                     if (maze.isValidPosition(checkX, checkY) &&
                             !visitedPositions.contains(checkPos) &&
-                            !maze.isPositionOccupied(checkX, checkY, this.id)) {
-                        x = backX;
-                        y = backY;
+                            !maze.isPositionOccupied(checkX, checkY, this.id) &&
+                            (swarm == null || !swarm.isDeadEnd(checkX, checkY))) {
+                        moveTo(backX, backY);
                         return true;
                     }
                 }
                 pathStack.pop();
+                if (swarm != null) {
+                    swarm.markDeadEnd(backX, backY);
+                }
             }
 
             return false;
@@ -385,6 +497,16 @@ public class Mouse implements Runnable {
         }
     }
 
+    /**
+     * Mapa do enxame, se o modo estiver ativo e o rato não estiver dentro de uma
+     * região já marcada como beco (ali ele volta a explorar sozinho)
+     */
+    private SharedExplorationMap activeSwarm() {
+        SharedExplorationMap swarm = maze.getSwarmMap();
+        if (swarm == null || swarm.isDeadEnd(x, y)) return null;
+        return swarm;
+    }
+
     /**
      * Para a execução desta thread
      */
@@ -392,6 +514,65 @@ public class Mouse implements Runnable {
         isRunning = false;
     }
 
+    /**
+     * Copia o estado completo do rato para um checkpoint (thread-safe).
+     * Só este rato espera, e apenas pela cópia das referências; a conversão
+     * das posições para inteiros acontece depois de liberar os locks.
+     */
+    public MouseState captureState() {
+        String[] visitedCopy;
+        int[] path;
+        int capturedX, capturedY, capturedStuck;
+        boolean capturedEnd;
+        long randomState;
+
+        movementLock.lock();
+        pathLock.lock();
+        try {
+            synchronized(visitedPositions) {
+                visitedCopy = visitedPositions.toArray(new String[0]);
+            }
+
+            // Da base para o topo, para restaurar com push() na mesma ordem
+            path = new int[pathStack.size() * 2];
+            int i = 0;
+            for (int[] position : pathStack) {
+                path[i++] = position[0];
+                path[i++] = position[1];
+            }
+
+            capturedX = x;
+            capturedY = y;
+            capturedEnd = hasReachedEnd;
+            capturedStuck = stuckCounter;
+            randomState = random.getState();
+        } finally {
+            pathLock.unlock();
+            movementLock.unlock();
+        }
+
+        int[] visited = new int[visitedCopy.length * 2];
+        int i = 0;
+        for (String position : visitedCopy) {
+            int comma = position.indexOf(',');
+            visited[i++] = Integer.parseInt(position, 0, comma, 10);
+            visited[i++] = Integer.parseInt(position, comma + 1, position.length(), 10);
+        }
+        return new MouseState(id, velocityMs, capturedX, capturedY, capturedEnd, capturedStuck,
+                randomState, visited, path);
+    }
+
+    /**
+     * Passos executados desde que o rato foi criado
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
     // Getters thread-safe
     public int getX() { return x; }
     public int getY() { return y; }
@@ -0,0 +1,270 @@
+package models;
+
+import maze.Maze;
+import maze.OpenCellIndex;
+
+import java.util.Arrays;
+
+/**
+ * População de ratos em arrays paralelos de primitivos (struct-of-arrays).
+ * Cada rato é só um índice: posição, flags, estado do gerador aleatório e dois
+ * segmentos numa arena compartilhada (histórico recente e pilha de caminho).
+ * stepAll() é um laço simples sobre os arrays, sem objetos nem locks por rato,
+ * pensado para milhões de ratos numa única thread.
+ *
+ * A heurística é a mesma do Mouse: prefere vizinhos não visitados mais próximos
+ * da saída (sorteando entre os 2 melhores) e volta pela pilha quando fica sem saída.
+ * O histórico é limitado a HISTORY_SLOTS posições, como as limpezas parciais do Mouse.
+ */
+public class MousePopulation {
+    public static final int HISTORY_SLOTS = 32;
+    public static final int STACK_SLOTS = 32;
+    private static final int SEGMENT = HISTORY_SLOTS + STACK_SLOTS;
+
+    private static final byte REACHED_END = 1;
+
+    // Labirinto achatado: open[y * width + x] == true se for caminho
+    private final int width;
+    private final boolean[] open;
+    private final int endCell, endX, endY;
+
+    private int count = 0;
+    private int finished = 0;
+    private long totalSteps = 0;
+
+    // Estado de cada rato, indexado pelo id
+    private int[] cell;
+    private byte[] flags;
+    private long[] rng;
+    private int[] historyHead;   // próxima posição a sobrescrever no histórico (anel)
+    private int[] stackSize;     // ocupação da pilha de caminho
+    private int[] stackHead;     // topo da pilha (anel: descarta o mais antigo quando cheia)
+    private int[] arena;         // segmentos de SEGMENT ints por rato
+
+    public MousePopulation(Maze maze, int initialCapacity) {
+        this.width = maze.getWidth();
+        int height = maze.getHeight();
+        this.open = new boolean[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                open[y * width + x] = maze.isValidPosition(x, y);
+            }
+        }
+        this.endX = maze.getEndX();
+        this.endY = maze.getEndY();
+        this.endCell = endY * width + endX;
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    /**
+     * Adiciona {@code n} ratos em células livres sorteadas. Retorna o id do primeiro.
+     */
+    public int addMice(Maze maze, int n, long seed) {
+        ensureCapacity(count + n);
+        OpenCellIndex openCells = maze.getOpenCells();
+        RestorableRandom random = new RestorableRandom(seed);
+        int first = count;
+        for (int i = 0; i < n; i++) {
+            int id = count++;
+            int start = openCells.sample(random);
+            cell[id] = start < 0 ? width + 1 : start;
+            flags[id] = 0;
+            // Estado do xorshift nunca pode ser zero
+            rng[id] = random.nextLong() | 1L;
+            historyHead[id] = 0;
+            stackSize[id] = 0;
+            stackHead[id] = 0;
+            Arrays.fill(arena, id * SEGMENT, id * SEGMENT + HISTORY_SLOTS, -1);
+        }
+        return first;
+    }
+
+    /**
+     * Avança todos os ratos um passo. Retorna quantos ratos se moveram.
+     */
+    public int stepAll() {
+        int moved = 0;
+        final int[] cell = this.cell;
+        final byte[] flags = this.flags;
+        final int[] arena = this.arena;
+        final boolean[] open = this.open;
+        final int size = open.length;
+        final int w = width;
+
+        for (int id = 0; id < count; id++) {
+            if ((flags[id] & REACHED_END) != 0) continue;
+
+            int current = cell[id];
+            if (current == endCell) {
+                flags[id] |= REACHED_END;
+                finished++;
+                continue;
+            }
+
+            int base = id * SEGMENT;
+            remember(id, base, current);
+            int column = current % w;
+
+            // Avalia os 4 vizinhos: guarda os 2 melhores pela distância até a saída
+            int best = -1, second = -1;
+            int bestDistance = Integer.MAX_VALUE, secondDistance = Integer.MAX_VALUE;
+            for (int dir = 0; dir < 4; dir++) {
+                // Leste/oeste na borda da linha cairiam na linha vizinha do array achatado
+                if ((dir == 2 && column == w - 1) || (dir == 3 && column == 0)) continue;
+                int next = dir == 0 ? current - w : dir == 1 ? current + w : dir == 2 ? current + 1 : current - 1;
+                if (next < 0 || next >= size || !open[next] || visited(base, next)) continue;
+                int distance = Math.abs(next % w - endX) + Math.abs(next / w - endY);
+                if (distance < bestDistance) {
+                    second = best;
+                    secondDistance = bestDistance;
+                    best = next;
+                    bestDistance = distance;
+                } else if (distance < secondDistance) {
+                    second = next;
+                    secondDistance = distance;
+                }
+            }
+
+            int target;
+            if (best >= 0) {
+                // Sorteia entre os 2 melhores, como o Mouse
+                target = (second >= 0 && (nextRandom(id) & 1) != 0) ? second : best;
+                push(id, base, current);
+            } else {
+                // Sem vizinho novo: volta pela pilha; sem pilha, qualquer vizinho livre
+                target = pop(id, base);
+                if (target < 0) {
+                    target = randomOpenNeighbor(id, current);
+                }
+            }
+
+            if (target >= 0 && target != current) {
+                cell[id] = target;
+                moved++;
+            }
+        }
+        totalSteps += count - finished;
+        return moved;
+    }
+
+    // Getters por índice: a "visão" de um rato é apenas o seu id
+    public int getX(int id) { return cell[checkId(id)] % width; }
+    public int getY(int id) { return cell[checkId(id)] / width; }
+    public boolean hasReachedEnd(int id) { return (flags[checkId(id)] & REACHED_END) != 0; }
+
+    public int size() { return count; }
+    public int getFinishedCount() { return finished; }
+    public long getTotalSteps() { return totalSteps; }
+
+    /**
+     * Bytes usados por rato nos arrays de estado (sem contar o labirinto compartilhado)
+     */
+    public static int bytesPerAgent() {
+        // cell + historyHead + stackSize + stackHead (int), flags (byte), rng (long), arena
+        return 4 * Integer.BYTES + 1 + Long.BYTES + SEGMENT * Integer.BYTES;
+    }
+
+    /**
+     * Visão de um rato da população com os mesmos getters do Mouse
+     */
+    public AgentView view(int id) {
+        return new AgentView(checkId(id));
+    }
+
+    public class AgentView {
+        private final int id;
+
+        private AgentView(int id) {
+            this.id = id;
+        }
+
+        public int getId() { return id; }
+        public int getX() { return MousePopulation.this.getX(id); }
+        public int getY() { return MousePopulation.this.getY(id); }
+        public boolean hasReachedEnd() { return MousePopulation.this.hasReachedEnd(id); }
+    }
+
+    private void remember(int id, int base, int position) {
+        if (visited(base, position)) return;
+        int head = historyHead[id];
+        arena[base + head] = position;
+        historyHead[id] = (head + 1) % HISTORY_SLOTS;
+    }
+
+    private boolean visited(int base, int position) {
+        for (int i = base; i < base + HISTORY_SLOTS; i++) {
+            if (arena[i] == position) return true;
+        }
+        return false;
+    }
+
+    private void push(int id, int base, int position) {
+        int head = stackHead[id];
+        arena[base + HISTORY_SLOTS + head] = position;
+        stackHead[id] = (head + 1) % STACK_SLOTS;
+        if (stackSize[id] < STACK_SLOTS) {
+            stackSize[id]++;
+        }
+    }
+
+    private int pop(int id, int base) {
+        if (stackSize[id] == 0) return -1;
+        int head = (stackHead[id] + STACK_SLOTS - 1) % STACK_SLOTS;
+        stackHead[id] = head;
+        stackSize[id]--;
+        return arena[base + HISTORY_SLOTS + head];
+    }
+
+    private int randomOpenNeighbor(int id, int current) {
+        int start = (int) (nextRandom(id) & 3);
+        int column = current % width;
+        for (int i = 0; i < 4; i++) {
+            int dir = (start + i) & 3;
+            if ((dir == 2 && column == width - 1) || (dir == 3 && column == 0)) continue;
+            int next = dir == 0 ? current - width : dir == 1 ? current + width : dir == 2 ? current + 1 : current - 1;
+            if (next >= 0 && next < open.length && open[next]) return next;
+        }
+        return -1;
+    }
+
+    /**
+     * xorshift64: poucas operações e estado de um único long por rato
+     */
+    private long nextRandom(int id) {
+        long s = rng[id];
+        s ^= s << 13;
+        s ^= s >>> 7;
+        s ^= s << 17;
+        rng[id] = s;
+        return s >>> 1;
+    }
+
+    private int checkId(int id) {
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("Rato inexistente na população: " + id);
+        }
+        return id;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= cell.length) return;
+        int capacity = Math.max(required, cell.length * 2);
+        cell = Arrays.copyOf(cell, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        rng = Arrays.copyOf(rng, capacity);
+        historyHead = Arrays.copyOf(historyHead, capacity);
+        stackSize = Arrays.copyOf(stackSize, capacity);
+        stackHead = Arrays.copyOf(stackHead, capacity);
+        arena = Arrays.copyOf(arena, capacity * SEGMENT);
+    }
+
+    private void allocate(int capacity) {
+        cell = new int[capacity];
+        flags = new byte[capacity];
+        rng = new long[capacity];
+        historyHead = new int[capacity];
+        stackSize = new int[capacity];
+        stackHead = new int[capacity];
+        arena = new int[capacity * SEGMENT];
+    }
+}
@@ -0,0 +1,29 @@
+package models;
+
+/**
+ * Cópia imutável do estado de um rato, usada em checkpoints.
+ * Posições visitadas e a pilha de caminho são guardadas como pares {x, y} consecutivos.
+ */
+public class MouseState {
+    public final int id;
+    public final int velocityMs;
+    public final int x, y;
+    public final boolean hasReachedEnd;
+    public final int stuckCounter;
+    public final long randomState;
+    public final int[] visitedPositions;
+    public final int[] pathStack;
+
+    public MouseState(int id, int velocityMs, int x, int y, boolean hasReachedEnd, int stuckCounter,
+                      long randomState, int[] visitedPositions, int[] pathStack) {
+        this.id = id;
+        this.velocityMs = velocityMs;
+        this.x = x;
+        this.y = y;
+        this.hasReachedEnd = hasReachedEnd;
+        this.stuckCounter = stuckCounter;
+        this.randomState = randomState;
+        this.visitedPositions = visitedPositions;
+        this.pathStack = pathStack;
+    }
+}
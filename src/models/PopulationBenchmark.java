@@ -0,0 +1,82 @@
+package models;
+
+import maze.Maze;
+import maze.MazeGenerator;
+
+import java.util.*;
+
+/**
+ * Compara memória por rato e vazão de passos entre o modelo de objetos (Mouse)
+ * e a população em arrays paralelos (MousePopulation).
+ * Uso: java models.PopulationBenchmark [largura] [altura] [ratos] [passos]
+ */
+public class PopulationBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 101;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 101;
+        int agents = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int steps = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+
+        Maze maze = new MazeGenerator().generateMaze(width, height);
+        System.out.println(run(maze, agents, steps));
+    }
+
+    /**
+     * Executa as duas medições no mesmo labirinto e retorna um relatório
+     */
+    public static String run(Maze maze, int agents, int steps) throws InterruptedException {
+        long objectBytes;
+        double objectStepsPerSecond;
+        boolean wasQuiet = maze.isQuiet();
+        maze.setQuiet(true);
+        try {
+            long before = usedHeap();
+            List<Mouse> mice = new ArrayList<>(agents);
+            for (int i = 0; i < agents; i++) {
+                mice.add(new Mouse(i, maze, 100));
+            }
+            objectBytes = (usedHeap() - before) / agents;
+
+            long start = System.nanoTime();
+            for (int s = 0; s < steps; s++) {
+                for (Mouse mouse : mice) {
+                    mouse.step();
+                }
+            }
+            objectStepsPerSecond = (double) agents * steps / ((System.nanoTime() - start) / 1e9);
+            mice.clear();
+        } finally {
+            maze.setQuiet(wasQuiet);
+        }
+
+        long before = usedHeap();
+        MousePopulation population = new MousePopulation(maze, agents);
+        population.addMice(maze, agents, 42);
+        long populationBytes = (usedHeap() - before) / agents;
+
+        long start = System.nanoTime();
+        for (int s = 0; s < steps; s++) {
+            population.stepAll();
+        }
+        double populationStepsPerSecond = (double) agents * steps / ((System.nanoTime() - start) / 1e9);
+
+        return String.format(
+                "=== %d ratos, %d passos, labirinto %dx%d ===%n"
+                + "Objetos (Mouse):          ~%d bytes/rato, %.0f passos/s%n"
+                + "Arrays (MousePopulation): ~%d bytes/rato (%d nos arrays), %.0f passos/s%n"
+                + "Ganho de vazão: %.1fx",
+                agents, steps, maze.getWidth(), maze.getHeight(),
+                objectBytes, objectStepsPerSecond,
+                populationBytes, MousePopulation.bytesPerAgent(), populationStepsPerSecond,
+                populationStepsPerSecond / objectStepsPerSecond);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,52 @@
+package models;
+
+import java.util.Random;
+
+/**
+ * Random com o mesmo gerador congruencial de java.util.Random,
+ * mas com o estado interno acessível para checkpoints
+ */
+public class RestorableRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Sem inicializador: o construtor de Random já chama setSeed()
+    private long state;
+
+    public RestorableRandom() {
+        super();
+    }
+
+    public RestorableRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected synchronized int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Estado interno de 48 bits do gerador
+     */
+    public synchronized long getState() {
+        return state;
+    }
+
+    /**
+     * Restaura um estado obtido com getState()
+     */
+    public synchronized void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,97 @@
+package recording;
+
+import util.BinaryCodec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Leitura bufferizada e posicionável de um FileChannel, com suporte a varints
+ */
+final class ChannelInput {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long bufferStart = 0;
+
+    ChannelInput(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        buffer.limit(0);
+    }
+
+    /**
+     * Posiciona a leitura num offset absoluto do arquivo
+     */
+    void seek(long offset) {
+        // Reaproveita o buffer se o offset já estiver carregado
+        if (offset >= bufferStart && offset <= bufferStart + buffer.limit()) {
+            buffer.position((int) (offset - bufferStart));
+        } else {
+            bufferStart = offset;
+            buffer.limit(0);
+        }
+    }
+
+    long position() {
+        return bufferStart + buffer.position();
+    }
+
+    long size() {
+        return size;
+    }
+
+    boolean hasRemaining() {
+        return position() < size;
+    }
+
+    byte get() throws IOException {
+        if (!buffer.hasRemaining()) {
+            fill();
+        }
+        return buffer.get();
+    }
+
+    int getInt() throws IOException {
+        return ((get() & 0xFF) << 24) | ((get() & 0xFF) << 16) | ((get() & 0xFF) << 8) | (get() & 0xFF);
+    }
+
+    long getLong() throws IOException {
+        return ((long) getInt() << 32) | (getInt() & 0xFFFFFFFFL);
+    }
+
+    long getVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint malformado na posição " + position());
+    }
+
+    int getVarInt() throws IOException {
+        return (int) getVarLong();
+    }
+
+    int getSignedVarInt() throws IOException {
+        return BinaryCodec.zigzagDecode(getVarInt());
+    }
+
+    private void fill() throws IOException {
+        long next = position();
+        if (next >= size) {
+            throw new EOFException("Fim do log na posição " + next);
+        }
+        bufferStart = next;
+        buffer.clear();
+        while (buffer.hasRemaining() && bufferStart + buffer.position() < size) {
+            if (channel.read(buffer, bufferStart + buffer.position()) < 0) break;
+        }
+        buffer.flip();
+    }
+}
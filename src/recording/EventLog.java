@@ -0,0 +1,31 @@
+package recording;
+
+/**
+ * Formato binário do log de eventos da simulação.
+ *
+ * Cabeçalho: MAGIC, VERSION, largura, altura, intervalo de keyframes e as paredes (BinaryCodec.packWalls).
+ * Registros: uma tag seguida de varints (BinaryCodec). Movimentos de 1 célula usam uma tag por direção
+ * e só o id do rato (2-3 bytes); saltos maiores usam MOVE com dx/dy em zigzag.
+ * Rodapé: END, total de movimentos, índice de keyframes (movimento, offset), offset do END e MAGIC.
+ */
+final class EventLog {
+    static final int MAGIC = 0x4C414252; // "LABR"
+    static final int VERSION = 1;
+
+    static final byte SPAWN = 1;
+    static final byte MOVE = 2;
+    static final byte DESPAWN = 3;
+    static final byte STEP_NORTH = 4;
+    static final byte STEP_SOUTH = 5;
+    static final byte STEP_EAST = 6;
+    static final byte STEP_WEST = 7;
+    static final byte KEYFRAME = 8;
+    static final byte END = (byte) 0xFF;
+
+    // Maior registro possível com 3 varints de int (tag + 3 * 5 bytes)
+    static final int MAX_RECORD_BYTES = 16;
+    // Rodapé fixo: offset do END (long) + MAGIC (int)
+    static final int TRAILER_BYTES = 12;
+
+    private EventLog() {}
+}
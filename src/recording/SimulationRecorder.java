@@ -0,0 +1,334 @@
+package recording;
+
+import maze.Maze;
+import maze.MazeListener;
+import models.Mouse;
+import util.BinaryCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Grava todos os movimentos dos ratos de um labirinto num log binário compacto.
+ * Posições são gravadas como deltas em varint e, periodicamente, um keyframe com a
+ * posição de todos os ratos permite ao replayer reconstruir qualquer quadro sem ler
+ * o arquivo inteiro. O intervalo entre keyframes cresce com a população, para o custo
+ * do keyframe continuar diluído em poucos bytes por movimento.
+ *
+ * As threads dos ratos só codificam registros em memória; buffers cheios vão para uma
+ * thread gravadora. Na primeira falha de I/O o gravador para de aceitar eventos
+ * (o log termina no último registro completo, sem lacunas) e close() relança o erro.
+ */
+public class SimulationRecorder implements MazeListener, AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Até 4 MiB esperando o disco; além disso os ratos esperam a gravação (memória limitada)
+    private static final int MAX_BUFFERS = 64;
+    // Keyframe no máximo a cada 8 movimentos por rato: ~1 byte extra por movimento
+    private static final int MOVES_PER_KEYFRAME_ENTRY = 8;
+    // Sinal de fim para a thread gravadora
+    private static final ByteBuffer END_OF_STREAM = ByteBuffer.allocate(0);
+
+    private final Maze maze;
+    private final FileChannel channel;
+    private final int keyframeInterval;
+
+    // Buffers cheios esperando o disco e buffers livres para reaproveitar
+    private final BlockingQueue<ByteBuffer> filled = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(MAX_BUFFERS);
+    private final Thread writer;
+    private volatile IOException failure;
+
+    // Protegidos por this: buffer atual, última posição gravada de cada rato, índice de keyframes
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private int allocatedBuffers = 1;
+    private final Map<Integer, int[]> positions = new HashMap<>();
+    private final List<long[]> keyframes = new ArrayList<>();
+    private long moveCount = 0;
+    private long nextKeyframeMove;
+    private long submittedBytes = 0;
+    private boolean closed = false;
+
+    /**
+     * Cria o arquivo de log e começa a gravar o labirinto imediatamente
+     */
+    public SimulationRecorder(Maze maze, Path file, int keyframeInterval) throws IOException {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Intervalo de keyframes deve ser positivo: " + keyframeInterval);
+        }
+        this.maze = maze;
+        this.keyframeInterval = keyframeInterval;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.writer = new Thread(this::writeLoop, "GravadorLog");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        synchronized(this) {
+            writeHeader();
+            writeKeyframe();
+        }
+
+        // Inscreve antes de ler os ratos existentes: um movimento que chegue
+        // primeiro vira SPAWN e o rato não é gravado duas vezes
+        maze.addListener(this);
+        for (Mouse mouse : maze.getMice()) {
+            onMouseAdded(mouse);
+        }
+    }
+
+    public SimulationRecorder(Maze maze, Path file) throws IOException {
+        this(maze, file, 4096);
+    }
+
+    @Override
+    public synchronized void onMouseAdded(Mouse mouse) {
+        if (isStopped() || positions.containsKey(mouse.getId())) return;
+        int x = mouse.getX();
+        int y = mouse.getY();
+        positions.put(mouse.getId(), new int[]{x, y});
+
+        ensureRemaining(EventLog.MAX_RECORD_BYTES);
+        buffer.put(EventLog.SPAWN);
+        BinaryCodec.putVarInt(buffer, mouse.getId());
+        BinaryCodec.putVarInt(buffer, x);
+        BinaryCodec.putVarInt(buffer, y);
+    }
+
+    @Override
+    public synchronized void onMouseMoved(Mouse mouse, int fromX, int fromY, int toX, int toY) {
+        if (isStopped()) return;
+        int[] last = positions.get(mouse.getId());
+        if (last == null) {
+            // Rato removido no meio de um passo: o DESPAWN já foi gravado e ele não volta
+            if (!mouse.isRunning() || maze.getMouse(mouse.getId()) != mouse) return;
+            // Movimento antes do SPAWN ter sido gravado
+            positions.put(mouse.getId(), new int[]{toX, toY});
+            ensureRemaining(EventLog.MAX_RECORD_BYTES);
+            buffer.put(EventLog.SPAWN);
+            BinaryCodec.putVarInt(buffer, mouse.getId());
+            BinaryCodec.putVarInt(buffer, toX);
+            BinaryCodec.putVarInt(buffer, toY);
+            return;
+        }
+
+        int dx = toX - last[0];
+        int dy = toY - last[1];
+        last[0] = toX;
+        last[1] = toY;
+
+        ensureRemaining(EventLog.MAX_RECORD_BYTES);
+        byte tag = stepTag(dx, dy);
+        buffer.put(tag);
+        BinaryCodec.putVarInt(buffer, mouse.getId());
+        if (tag == EventLog.MOVE) {
+            BinaryCodec.putSignedVarInt(buffer, dx);
+            BinaryCodec.putSignedVarInt(buffer, dy);
+        }
+
+        moveCount++;
+        if (moveCount >= nextKeyframeMove) {
+            writeKeyframe();
+        }
+    }
+
+    @Override
+    public synchronized void onMouseRemoved(Mouse mouse) {
+        if (isStopped() || positions.remove(mouse.getId()) == null) return;
+        ensureRemaining(EventLog.MAX_RECORD_BYTES);
+        buffer.put(EventLog.DESPAWN);
+        BinaryCodec.putVarInt(buffer, mouse.getId());
+    }
+
+    /**
+     * Número de movimentos gravados até agora
+     */
+    public synchronized long getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Bytes gravados até agora (incluindo o que ainda está no buffer)
+     */
+    public synchronized long getBytesWritten() {
+        return submittedBytes + buffer.position();
+    }
+
+    /**
+     * Erro de I/O que interrompeu a gravação, ou null se está tudo certo
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Para de gravar, escreve o índice de keyframes e fecha o arquivo.
+     * Se a gravação falhou antes, fecha o arquivo e relança o erro original.
+     */
+    @Override
+    public void close() throws IOException {
+        maze.removeListener(this);
+        synchronized(this) {
+            if (closed) return;
+            closed = true;
+            if (failure == null) {
+                long endOffset = submittedBytes + buffer.position();
+                ensureRemaining(1 + 10 + 5);
+                buffer.put(EventLog.END);
+                BinaryCodec.putVarLong(buffer, moveCount);
+                BinaryCodec.putVarInt(buffer, keyframes.size());
+                for (long[] keyframe : keyframes) {
+                    ensureRemaining(20);
+                    BinaryCodec.putVarLong(buffer, keyframe[0]);
+                    BinaryCodec.putVarLong(buffer, keyframe[1]);
+                }
+                ensureRemaining(EventLog.TRAILER_BYTES);
+                buffer.putLong(endOffset);
+                buffer.putInt(EventLog.MAGIC);
+                submit();
+            }
+            filled.add(END_OF_STREAM);
+        }
+
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido esperando a gravação terminar", e);
+        }
+        try {
+            if (failure == null) {
+                channel.force(true);
+            }
+        } finally {
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private boolean isStopped() {
+        return closed || failure != null;
+    }
+
+    private void writeHeader() {
+        int width = maze.getWidth();
+        int height = maze.getHeight();
+        ensureRemaining(4 + 1 + 3 * 5);
+        buffer.putInt(EventLog.MAGIC);
+        buffer.put((byte) EventLog.VERSION);
+        BinaryCodec.putVarInt(buffer, width);
+        BinaryCodec.putVarInt(buffer, height);
+        BinaryCodec.putVarInt(buffer, keyframeInterval);
+
+        // Paredes em pedaços: o mapa inteiro pode ser maior que um buffer
+        byte[] walls = BinaryCodec.packWalls(maze);
+        for (int offset = 0; offset < walls.length; ) {
+            ensureRemaining(1);
+            int length = Math.min(buffer.remaining(), walls.length - offset);
+            buffer.put(walls, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Grava a posição de todos os ratos conhecidos e guarda o offset no índice
+     */
+    private void writeKeyframe() {
+        nextKeyframeMove = moveCount + Math.max(keyframeInterval,
+                (long) positions.size() * MOVES_PER_KEYFRAME_ENTRY);
+        keyframes.add(new long[]{moveCount, submittedBytes + buffer.position()});
+        ensureRemaining(1 + 10 + 5);
+        buffer.put(EventLog.KEYFRAME);
+        BinaryCodec.putVarLong(buffer, moveCount);
+        BinaryCodec.putVarInt(buffer, positions.size());
+        for (Map.Entry<Integer, int[]> entry : positions.entrySet()) {
+            ensureRemaining(EventLog.MAX_RECORD_BYTES);
+            BinaryCodec.putVarInt(buffer, entry.getKey());
+            BinaryCodec.putVarInt(buffer, entry.getValue()[0]);
+            BinaryCodec.putVarInt(buffer, entry.getValue()[1]);
+        }
+    }
+
+    private static byte stepTag(int dx, int dy) {
+        if (dx == 0 && dy == -1) return EventLog.STEP_NORTH;
+        if (dx == 0 && dy == 1) return EventLog.STEP_SOUTH;
+        if (dx == 1 && dy == 0) return EventLog.STEP_EAST;
+        if (dx == -1 && dy == 0) return EventLog.STEP_WEST;
+        return EventLog.MOVE;
+    }
+
+    /**
+     * Garante espaço no buffer, entregando o atual à thread gravadora se necessário.
+     * Como só troca de buffer entre registros, cada buffer termina num registro completo.
+     */
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) {
+            submit();
+        }
+    }
+
+    /**
+     * Entrega o buffer atual à thread gravadora e pega um livre
+     */
+    private void submit() {
+        buffer.flip();
+        submittedBytes += buffer.remaining();
+        filled.add(buffer);
+
+        ByteBuffer next = free.poll();
+        if (next == null) {
+            if (allocatedBuffers < MAX_BUFFERS) {
+                allocatedBuffers++;
+                next = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            } else {
+                // Disco mais lento que a simulação por muito tempo: espera um buffer voltar
+                try {
+                    next = free.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    next = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                }
+            }
+        }
+        buffer = next;
+    }
+
+    /**
+     * Thread gravadora: escreve os buffers em ordem e os devolve para reuso
+     */
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer next;
+            try {
+                next = filled.take();
+            } catch (InterruptedException e) {
+                failure = new IOException("Thread gravadora interrompida", e);
+                return;
+            }
+            if (next == END_OF_STREAM) return;
+
+            if (failure == null) {
+                try {
+                    while (next.hasRemaining()) {
+                        channel.write(next);
+                    }
+                } catch (IOException e) {
+                    // Nada depois deste buffer é gravado: o log para aqui, sem lacunas
+                    // (um registro final incompleto é descartado pelo replayer)
+                    failure = e;
+                    System.err.println("❌ Gravação interrompida: " + e.getMessage());
+                }
+            }
+            next.clear();
+            free.offer(next);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package recording;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Reproduz um log gravado pelo SimulationRecorder.
+ * Qualquer quadro (estado após N movimentos) é reconstruído a partir do keyframe
+ * anterior mais próximo, então navegar no log não exige reler tudo desde o início.
+ */
+public class SimulationReplayer implements AutoCloseable {
+    /**
+     * Recebe cada movimento reproduzido, já com a posição absoluta
+     */
+    public interface MoveVisitor {
+        void onMove(long moveIndex, int mouseId, int x, int y);
+    }
+
+    private final FileChannel channel;
+    private final ChannelInput input;
+
+    private int width;
+    private int height;
+    private int keyframeInterval;
+    private BitSet paths;
+    private long moveCount;
+    // Pares (movimento, offset) ordenados por movimento
+    private long[] keyframeMoves;
+    private long[] keyframeOffsets;
+
+    private SimulationReplayer(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.input = new ChannelInput(channel);
+        try {
+            readHeader();
+            if (!readIndex()) {
+                // Log sem rodapé (gravação interrompida): reconstrói o índice lendo tudo
+                scanIndex();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Abre um log para reprodução
+     */
+    public static SimulationReplayer open(Path file) throws IOException {
+        return new SimulationReplayer(file);
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getMoveCount() { return moveCount; }
+    public int getKeyframeCount() { return keyframeMoves.length; }
+    public int getKeyframeInterval() { return keyframeInterval; }
+
+    /**
+     * Verifica se a célula era caminho livre no labirinto gravado
+     */
+    public boolean isPath(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && paths.get(y * width + x);
+    }
+
+    /**
+     * Reconstrói a posição de todos os ratos após {@code moveIndex} movimentos.
+     * Retorna um mapa id -> {x, y}.
+     */
+    public synchronized Map<Integer, int[]> frameAt(long moveIndex) throws IOException {
+        if (moveIndex < 0 || moveIndex > moveCount) {
+            throw new IllegalArgumentException("Quadro fora do log: " + moveIndex + " (total " + moveCount + ")");
+        }
+        Map<Integer, int[]> positions = new HashMap<>();
+        long current = seekKeyframe(moveIndex, positions);
+        applyUntil(positions, current, moveIndex, null);
+        if (moveIndex == moveCount) {
+            applyTrailing(positions);
+        }
+        return positions;
+    }
+
+    /**
+     * Reproduz os movimentos no intervalo [fromMove, toMove) o mais rápido possível
+     */
+    public synchronized void replay(long fromMove, long toMove, MoveVisitor visitor) throws IOException {
+        if (fromMove < 0 || toMove > moveCount || fromMove > toMove) {
+            throw new IllegalArgumentException("Intervalo inválido: [" + fromMove + ", " + toMove + ")");
+        }
+        Map<Integer, int[]> positions = new HashMap<>();
+        long current = seekKeyframe(fromMove, positions);
+        current = applyUntil(positions, current, fromMove, null);
+        applyUntil(positions, current, toMove, visitor);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Posiciona no último keyframe com movimento <= moveIndex e carrega suas posições.
+     * Retorna o número do movimento do keyframe.
+     */
+    private long seekKeyframe(long moveIndex, Map<Integer, int[]> positions) throws IOException {
+        int index = Arrays.binarySearch(keyframeMoves, moveIndex);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            // Vários keyframes no mesmo movimento: usa o último
+            while (index + 1 < keyframeMoves.length && keyframeMoves[index + 1] == moveIndex) {
+                index++;
+            }
+        }
+        input.seek(keyframeOffsets[index]);
+        if (input.get() != EventLog.KEYFRAME) {
+            throw new IOException("Keyframe esperado no offset " + keyframeOffsets[index]);
+        }
+        long keyframeMove = input.getVarLong();
+        int count = input.getVarInt();
+        for (int i = 0; i < count; i++) {
+            int id = input.getVarInt();
+            positions.put(id, new int[]{input.getVarInt(), input.getVarInt()});
+        }
+        return keyframeMove;
+    }
+
+    /**
+     * Aplica registros a partir da posição atual até completar {@code targetMove} movimentos.
+     * Retorna o número de movimentos aplicados ao final.
+     */
+    private long applyUntil(Map<Integer, int[]> positions, long current, long targetMove,
+                            MoveVisitor visitor) throws IOException {
+        while (current < targetMove) {
+            byte tag = input.get();
+            switch (tag) {
+                case EventLog.SPAWN: {
+                    int id = input.getVarInt();
+                    positions.put(id, new int[]{input.getVarInt(), input.getVarInt()});
+                    break;
+                }
+                case EventLog.DESPAWN:
+                    positions.remove(input.getVarInt());
+                    break;
+                case EventLog.KEYFRAME:
+                    skipKeyframeBody();
+                    break;
+                case EventLog.END:
+                    throw new IOException("Fim do log antes do movimento " + targetMove);
+                default: {
+                    int id = input.getVarInt();
+                    int[] position = positions.get(id);
+                    if (position == null) {
+                        throw new IOException("Movimento de rato desconhecido: " + id);
+                    }
+                    applyMove(tag, position);
+                    if (visitor != null) {
+                        visitor.onMove(current, id, position[0], position[1]);
+                    }
+                    current++;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Depois do último movimento: aplica entradas e saídas de ratos até o END,
+     * para que o quadro final mostre a simulação como estava ao fechar o log
+     */
+    private void applyTrailing(Map<Integer, int[]> positions) throws IOException {
+        while (true) {
+            byte tag = input.get();
+            switch (tag) {
+                case EventLog.SPAWN: {
+                    int id = input.getVarInt();
+                    positions.put(id, new int[]{input.getVarInt(), input.getVarInt()});
+                    break;
+                }
+                case EventLog.DESPAWN:
+                    positions.remove(input.getVarInt());
+                    break;
+                case EventLog.KEYFRAME:
+                    skipKeyframeBody();
+                    break;
+                case EventLog.END:
+                    return;
+                default:
+                    throw new IOException("Movimento depois do último índice na posição " + (input.position() - 1));
+            }
+        }
+    }
+
+    private void applyMove(byte tag, int[] position) throws IOException {
+        switch (tag) {
+            case EventLog.STEP_NORTH: position[1]--; break;
+            case EventLog.STEP_SOUTH: position[1]++; break;
+            case EventLog.STEP_EAST: position[0]++; break;
+            case EventLog.STEP_WEST: position[0]--; break;
+            case EventLog.MOVE:
+                position[0] += input.getSignedVarInt();
+                position[1] += input.getSignedVarInt();
+                break;
+            default:
+                throw new IOException("Tag desconhecida " + tag + " na posição " + (input.position() - 1));
+        }
+    }
+
+    private void skipKeyframeBody() throws IOException {
+        input.getVarLong();
+        int count = input.getVarInt();
+        for (int i = 0; i < count * 3; i++) {
+            input.getVarInt();
+        }
+    }
+
+    private void readHeader() throws IOException {
+        input.seek(0);
+        if (input.getInt() != EventLog.MAGIC) {
+            throw new IOException("Arquivo não é um log de simulação");
+        }
+        int version = input.get();
+        if (version != EventLog.VERSION) {
+            throw new IOException("Versão de log não suportada: " + version);
+        }
+        width = input.getVarInt();
+        height = input.getVarInt();
+        keyframeInterval = input.getVarInt();
+
+        int cells = width * height;
+        paths = new BitSet(cells);
+        for (int i = 0; i < cells; i += 8) {
+            int bits = input.get() & 0xFF;
+            for (int bit = 0; bit < 8 && i + bit < cells; bit++) {
+                if ((bits & (1 << bit)) != 0) {
+                    paths.set(i + bit);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lê o índice de keyframes do rodapé. Retorna false se o rodapé não existir.
+     */
+    private boolean readIndex() throws IOException {
+        if (input.size() < EventLog.TRAILER_BYTES) return false;
+        input.seek(input.size() - EventLog.TRAILER_BYTES);
+        long endOffset = input.getLong();
+        if (input.getInt() != EventLog.MAGIC || endOffset < 0 || endOffset >= input.size()) {
+            return false;
+        }
+
+        input.seek(endOffset);
+        if (input.get() != EventLog.END) return false;
+        moveCount = input.getVarLong();
+        int count = input.getVarInt();
+        keyframeMoves = new long[count];
+        keyframeOffsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            keyframeMoves[i] = input.getVarLong();
+            keyframeOffsets[i] = input.getVarLong();
+        }
+        return count > 0;
+    }
+
+    /**
+     * Percorre o log inteiro montando o índice; registros truncados no fim são ignorados
+     */
+    private void scanIndex() throws IOException {
+        List<long[]> keyframes = new ArrayList<>();
+        long moves = 0;
+        readHeader();
+        try {
+            while (input.hasRemaining()) {
+                long offset = input.position();
+                byte tag = input.get();
+                if (tag == EventLog.END) break;
+                switch (tag) {
+                    case EventLog.SPAWN:
+                        input.getVarInt();
+                        input.getVarInt();
+                        input.getVarInt();
+                        break;
+                    case EventLog.DESPAWN:
+                        input.getVarInt();
+                        break;
+                    case EventLog.KEYFRAME:
+                        skipKeyframeBody();
+                        keyframes.add(new long[]{moves, offset});
+                        break;
+                    default:
+                        input.getVarInt();
+                        applyMove(tag, new int[2]);
+                        moves++;
+                }
+            }
+        } catch (EOFException e) {
+            // Último registro incompleto: a gravação foi interrompida no meio dele
+        }
+
+        moveCount = moves;
+        keyframeMoves = new long[keyframes.size()];
+        keyframeOffsets = new long[keyframes.size()];
+        for (int i = 0; i < keyframes.size(); i++) {
+            keyframeMoves[i] = keyframes.get(i)[0];
+            keyframeOffsets[i] = keyframes.get(i)[1];
+        }
+        if (keyframes.isEmpty()) {
+            throw new IOException("Log sem nenhum keyframe");
+        }
+    }
+}
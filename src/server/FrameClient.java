@@ -0,0 +1,231 @@
+package server;
+
+import util.BinaryCodec;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
+
+/**
+ * Cliente de teste do FrameServer: abre muitas conexões num único seletor,
+ * decodifica os frames e mantém as posições dos ratos de cada visualizador.
+ * Parte dos clientes pode ser lenta (lê só de tempos em tempos) para verificar
+ * que o servidor descarta frames para eles sem atrasar os demais.
+ * Uso: java server.FrameClient [host] [porta] [clientes] [segundos] [1 a cada N lento] [pausa do lento ms]
+ */
+public class FrameClient {
+    private static final int SLOW_RECEIVE_BUFFER_BYTES = 8 * 1024;
+
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : FrameServer.DEFAULT_PORT;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int slowEvery = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        long slowPauseMs = args.length > 5 ? Long.parseLong(args[5]) : 1000;
+
+        Selector selector = Selector.open();
+        List<Viewer> viewers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean slow = slowEvery > 0 && i % slowEvery == 0;
+            SocketChannel channel = SocketChannel.open();
+            if (slow) {
+                // Buffer de recepção pequeno: senão o kernel absorve o atraso e o servidor nem percebe
+                channel.setOption(StandardSocketOptions.SO_RCVBUF, SLOW_RECEIVE_BUFFER_BYTES);
+            }
+            channel.connect(new InetSocketAddress(host, port));
+            channel.configureBlocking(false);
+            Viewer viewer = new Viewer(channel, slow ? slowPauseMs : 0);
+            viewer.key = channel.register(selector, SelectionKey.OP_READ, viewer);
+            viewers.add(viewer);
+        }
+        System.out.println("🔌 " + count + " clientes conectados em " + host + ":" + port);
+
+        long end = System.currentTimeMillis() + seconds * 1000L;
+        long nextReport = System.currentTimeMillis() + 1000;
+        while (System.currentTimeMillis() < end && !viewers.isEmpty()) {
+            selector.select(50);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                Viewer viewer = (Viewer) key.attachment();
+                try {
+                    viewer.read();
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("❌ Cliente desconectado: " + e.getMessage());
+                    key.cancel();
+                    viewer.channel.close();
+                    viewers.remove(viewer);
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            for (Viewer viewer : viewers) {
+                viewer.wakeIfRested(now);
+            }
+            if (now >= nextReport) {
+                report(viewers);
+                nextReport += 1000;
+            }
+        }
+
+        report(viewers);
+        for (Viewer viewer : viewers) {
+            viewer.channel.close();
+        }
+        selector.close();
+    }
+
+    private static void report(List<Viewer> viewers) {
+        long frames = 0, fulls = 0, missedTicks = 0, bytes = 0, mice = 0;
+        long slowFrames = 0, slowMissed = 0;
+        int slowCount = 0;
+        for (Viewer viewer : viewers) {
+            frames += viewer.frames;
+            fulls += viewer.fullFrames;
+            missedTicks += viewer.missedTicks;
+            bytes += viewer.bytes;
+            mice += viewer.positions.size();
+            if (viewer.pauseMs > 0) {
+                slowCount++;
+                slowFrames += viewer.frames;
+                slowMissed += viewer.missedTicks;
+            }
+        }
+        int fastCount = viewers.size() - slowCount;
+        System.out.printf("📺 %d clientes | frames: %d (FULL: %d) | ticks perdidos: rápidos %d, lentos %d "
+                        + "| %.1f KiB | ratos por cliente: %.1f%n",
+                viewers.size(), frames, fulls,
+                fastCount == 0 ? 0 : (missedTicks - slowMissed) / fastCount,
+                slowCount == 0 ? 0 : slowMissed / slowCount,
+                bytes / 1024.0, viewers.isEmpty() ? 0 : (double) mice / viewers.size());
+    }
+
+    /**
+     * Um visualizador: remonta os frames do fluxo e aplica FULL/DELTA nas posições
+     */
+    private static class Viewer {
+        final SocketChannel channel;
+        final long pauseMs;
+        SelectionKey key;
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long restingUntil = 0;
+
+        int width, height, endX, endY;
+        final Map<Integer, int[]> positions = new HashMap<>();
+        long lastTick = -1;
+        long frames, fullFrames, missedTicks, bytes;
+
+        Viewer(SocketChannel channel, long pauseMs) {
+            this.channel = channel;
+            this.pauseMs = pauseMs;
+        }
+
+        void read() throws IOException {
+            // O cliente lento, quando acorda, esvazia tudo o que acumulou no socket
+            do {
+                int read = channel.read(buffer);
+                if (read < 0) throw new IOException("Servidor fechou a conexão");
+                if (read == 0) break;
+                bytes += read;
+                decodeAvailable();
+            } while (pauseMs > 0);
+
+            // Cliente lento: para de ler por um tempo e deixa o socket encher
+            if (pauseMs > 0) {
+                restingUntil = System.currentTimeMillis() + pauseMs;
+                key.interestOps(0);
+            }
+        }
+
+        private void decodeAvailable() throws IOException {
+            buffer.flip();
+            while (buffer.remaining() >= 4) {
+                int length = buffer.getInt(buffer.position());
+                if (length <= 0 || length > FrameProtocol.MAX_FRAME_BYTES) {
+                    throw new IOException("Frame inválido: " + length + " bytes");
+                }
+                if (buffer.remaining() < 4 + length) break;
+                buffer.getInt();
+                int frameEnd = buffer.position() + length;
+                decode(buffer);
+                buffer.position(frameEnd);
+            }
+            buffer.compact();
+
+            // Frame maior que o buffer: aumenta para caber inteiro
+            if (!buffer.hasRemaining()) {
+                ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                bigger.put(buffer);
+                buffer = bigger;
+            }
+        }
+
+        void wakeIfRested(long now) {
+            if (restingUntil != 0 && now >= restingUntil && key.isValid()) {
+                restingUntil = 0;
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void decode(ByteBuffer frame) throws IOException {
+            byte type = frame.get();
+            frames++;
+            switch (type) {
+                case FrameProtocol.WALLS:
+                    if (frame.getInt() != FrameProtocol.MAGIC) throw new IOException("Fluxo não é do FrameServer");
+                    frame.get(); // versão
+                    width = BinaryCodec.getVarInt(frame);
+                    height = BinaryCodec.getVarInt(frame);
+                    endX = BinaryCodec.getSignedVarInt(frame);
+                    endY = BinaryCodec.getSignedVarInt(frame);
+                    break;
+                case FrameProtocol.FULL: {
+                    updateTick(BinaryCodec.getVarLong(frame), true);
+                    fullFrames++;
+                    positions.clear();
+                    int count = BinaryCodec.getVarInt(frame);
+                    for (int i = 0; i < count; i++) {
+                        readMouse(frame);
+                    }
+                    break;
+                }
+                case FrameProtocol.DELTA: {
+                    updateTick(BinaryCodec.getVarLong(frame), false);
+                    int changed = BinaryCodec.getVarInt(frame);
+                    for (int i = 0; i < changed; i++) {
+                        readMouse(frame);
+                    }
+                    int gone = BinaryCodec.getVarInt(frame);
+                    for (int i = 0; i < gone; i++) {
+                        positions.remove(BinaryCodec.getVarInt(frame));
+                    }
+                    break;
+                }
+                default:
+                    throw new IOException("Tipo de frame desconhecido: " + type);
+            }
+        }
+
+        private void updateTick(long tick, boolean full) {
+            // Ticks sem mudança não geram DELTA, então só o salto antes de um FULL conta como perda
+            if (full && lastTick >= 0 && tick > lastTick + 1) {
+                missedTicks += tick - lastTick - 1;
+            }
+            lastTick = tick;
+        }
+
+        private void readMouse(ByteBuffer frame) {
+            int id = BinaryCodec.getVarInt(frame);
+            int x = BinaryCodec.getSignedVarInt(frame);
+            int y = BinaryCodec.getSignedVarInt(frame);
+            byte flags = frame.get();
+            positions.put(id, new int[]{x, y, flags});
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Protocolo binário do streaming de frames.
+ *
+ * Cada frame: tamanho (int, inclui o tipo), tipo (byte) e o corpo.
+ * - WALLS (uma vez por conexão): MAGIC, VERSION, largura, altura, saída x/y e as paredes (BinaryCodec.packWalls).
+ * - FULL: tick, quantidade e a posição de todos os ratos.
+ * - DELTA: tick, só os ratos que mudaram desde o tick anterior e os ids removidos.
+ * Ratos: id (varint), x e y (zigzag, ambos do BinaryCodec; o mundo infinito tem coordenadas negativas), flags.
+ * Um cliente que perde frames por estar lento recebe um FULL antes dos próximos DELTAs.
+ */
+final class FrameProtocol {
+    static final int MAGIC = 0x4C414246; // "LABF"
+    static final int VERSION = 1;
+
+    static final byte WALLS = 1;
+    static final byte FULL = 2;
+    static final byte DELTA = 3;
+
+    static final byte FLAG_REACHED_END = 1;
+
+    // Tamanho + tipo
+    static final int HEADER_BYTES = 5;
+    // Maior entrada de rato: id, x, y (varints de até 5 bytes) e flags
+    static final int MAX_ENTRY_BYTES = 16;
+    // Maior frame aceito pelo cliente
+    static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    private FrameProtocol() {}
+
+    /**
+     * Reserva o cabeçalho do frame; finish() preenche o tamanho
+     */
+    static ByteBuffer begin(int maxBodyBytes, byte type) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + maxBodyBytes);
+        buffer.putInt(0);
+        buffer.put(type);
+        return buffer;
+    }
+
+    /**
+     * Fecha o frame e retorna uma visão somente leitura, compartilhável entre clientes
+     */
+    static ByteBuffer finish(ByteBuffer buffer) {
+        buffer.putInt(0, buffer.position() - 4);
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+}
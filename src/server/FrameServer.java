@@ -0,0 +1,421 @@
+package server;
+
+import maze.Maze;
+import maze.MazeGenerator;
+import maze.MazeHost;
+import maze.MazeListener;
+import models.Mouse;
+import util.BinaryCodec;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor NIO (um seletor, uma thread) que transmite o labirinto para visualizadores remotos.
+ *
+ * Cada cliente recebe as paredes uma vez e depois um frame por tick: DELTA com os ratos
+ * que mudaram, ou FULL quando acabou de conectar ou perdeu frames. As threads dos ratos
+ * só marcam ids alterados num conjunto concorrente; a codificação e o envio acontecem
+ * na thread do servidor. Cada cliente tem uma fila limitada: se ela estiver cheia o frame
+ * é descartado para aquele cliente, então um visualizador lento nunca segura a simulação.
+ * Uso: java server.FrameServer [porta] [largura] [altura] [ratos] [tick ms]
+ */
+public class FrameServer implements MazeListener, AutoCloseable {
+    public static final int DEFAULT_PORT = 7777;
+    public static final int DEFAULT_CLIENT_BUFFER_BYTES = 256 * 1024;
+    // Fila de conexões pendentes: centenas de visualizadores podem conectar de uma vez
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private final Maze maze;
+    private final long tickNanos;
+    private final int clientBufferBytes;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Ratos alterados/removidos desde o último tick (escritos pelas threads dos ratos)
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> removed = ConcurrentHashMap.newKeySet();
+
+    // Acessados só pela thread do servidor
+    private final List<Client> clients = new ArrayList<>();
+    private final ByteBuffer wallsFrame;
+    private long tick = 0;
+
+    // Métricas
+    private volatile int clientCount = 0;
+    private final LongAdder framesQueued = new LongAdder();
+    private final LongAdder framesSkipped = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+
+    public FrameServer(Maze maze, int port, long tickMs, int clientBufferBytes) throws IOException {
+        this.maze = maze;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.clientBufferBytes = clientBufferBytes;
+        this.wallsFrame = buildWalls();
+
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), ACCEPT_BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        this.thread = new Thread(this::serve, "FrameServer");
+        this.thread.setDaemon(true);
+    }
+
+    public FrameServer(Maze maze, int port, long tickMs) throws IOException {
+        this(maze, port, tickMs, DEFAULT_CLIENT_BUFFER_BYTES);
+    }
+
+    /**
+     * Passa a ouvir os ratos e inicia a thread do seletor
+     */
+    public void start() {
+        maze.addListener(this);
+        for (Mouse mouse : maze.getMice()) {
+            dirty.add(mouse.getId());
+        }
+        thread.start();
+        System.out.println("📡 Servidor de frames em " + serverChannel.socket().getLocalSocketAddress());
+    }
+
+    @Override
+    public void onMouseAdded(Mouse mouse) {
+        dirty.add(mouse.getId());
+    }
+
+    @Override
+    public void onMouseMoved(Mouse mouse, int fromX, int fromY, int toX, int toY) {
+        dirty.add(mouse.getId());
+    }
+
+    @Override
+    public void onMouseRemoved(Mouse mouse) {
+        removed.add(mouse.getId());
+    }
+
+    public int getPort() { return serverChannel.socket().getLocalPort(); }
+    public int getClientCount() { return clientCount; }
+    public long getFramesQueued() { return framesQueued.sum(); }
+    public long getFramesSkipped() { return framesSkipped.sum(); }
+    public long getBytesSent() { return bytesSent.sum(); }
+
+    /**
+     * Laço do seletor: atende conexões e escritas e emite um frame a cada tick
+     */
+    private void serve() {
+        long nextTick = System.nanoTime() + tickNanos;
+        try {
+            while (running) {
+                long waitMs = TimeUnit.NANOSECONDS.toMillis(nextTick - System.nanoTime());
+                if (waitMs > 0) {
+                    selector.select(waitMs);
+                } else {
+                    selector.selectNow();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) {
+                        try {
+                            accept();
+                        } catch (IOException e) {
+                            // Ex.: limite de arquivos abertos; os clientes já conectados seguem normais
+                            System.err.println("⚠️ Falha ao aceitar conexão: " + e.getMessage());
+                        }
+                        continue;
+                    }
+                    Client client = (Client) key.attachment();
+                    try {
+                        if (key.isReadable()) client.read();
+                        if (key.isValid() && key.isWritable()) client.flush();
+                    } catch (IOException e) {
+                        disconnect(client);
+                    }
+                }
+
+                long now = System.nanoTime();
+                if (now - nextTick >= 0) {
+                    broadcast();
+                    // Atrasado (GC, máquina carregada): não tenta compensar os ticks perdidos
+                    nextTick = Math.max(nextTick + tickNanos, now);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                System.err.println("❌ Erro no servidor de frames: " + e.getMessage());
+            }
+        } finally {
+            for (Client client : new ArrayList<>(clients)) {
+                disconnect(client);
+            }
+            closeQuietly(serverChannel);
+            closeQuietly(selector);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Client client = new Client(channel);
+            client.key = channel.register(selector, SelectionKey.OP_READ, client);
+            clients.add(client);
+            clientCount = clients.size();
+            try {
+                // Paredes sempre entram, mesmo maiores que o buffer; o FULL vai no próximo tick
+                client.offer(wallsFrame);
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+    }
+
+    private void disconnect(Client client) {
+        if (clients.remove(client)) {
+            clientCount = clients.size();
+        }
+        if (client.key != null) {
+            client.key.cancel();
+        }
+        closeQuietly(client.channel);
+    }
+
+    /**
+     * Emite o frame do tick para cada cliente, descartando-o para quem estiver com a fila cheia
+     */
+    private void broadcast() {
+        tick++;
+        ByteBuffer delta = buildDelta();
+        if (clients.isEmpty()) return;
+
+        ByteBuffer full = null;
+        for (Client client : new ArrayList<>(clients)) {
+            ByteBuffer frame;
+            if (client.needsFull) {
+                if (full == null) {
+                    full = buildFull();
+                }
+                frame = full;
+            } else if (delta != null) {
+                frame = delta;
+            } else {
+                continue;
+            }
+
+            try {
+                if (client.offer(frame)) {
+                    client.needsFull = false;
+                    framesQueued.increment();
+                } else {
+                    // Perdeu este delta: precisa de um FULL para voltar a ficar consistente
+                    client.needsFull = true;
+                    framesSkipped.increment();
+                }
+            } catch (IOException e) {
+                disconnect(client);
+            }
+        }
+    }
+
+    private ByteBuffer buildWalls() {
+        byte[] walls = BinaryCodec.packWalls(maze);
+        ByteBuffer buffer = FrameProtocol.begin(4 + 1 + 4 * 5 + walls.length, FrameProtocol.WALLS);
+        buffer.putInt(FrameProtocol.MAGIC);
+        buffer.put((byte) FrameProtocol.VERSION);
+        BinaryCodec.putVarInt(buffer, maze.getWidth());
+        BinaryCodec.putVarInt(buffer, maze.getHeight());
+        BinaryCodec.putSignedVarInt(buffer, maze.getEndX());
+        BinaryCodec.putSignedVarInt(buffer, maze.getEndY());
+        buffer.put(walls);
+        return FrameProtocol.finish(buffer);
+    }
+
+    private ByteBuffer buildFull() {
+        List<Mouse> mice = maze.getMice();
+        ByteBuffer buffer = FrameProtocol.begin(10 + 5 + mice.size() * FrameProtocol.MAX_ENTRY_BYTES,
+                FrameProtocol.FULL);
+        BinaryCodec.putVarLong(buffer, tick);
+        BinaryCodec.putVarInt(buffer, mice.size());
+        for (Mouse mouse : mice) {
+            putMouse(buffer, mouse);
+        }
+        return FrameProtocol.finish(buffer);
+    }
+
+    /**
+     * Esvazia os conjuntos de alterações e codifica o delta (null se nada mudou)
+     */
+    private ByteBuffer buildDelta() {
+        List<Mouse> changed = new ArrayList<>();
+        List<Integer> gone = new ArrayList<>();
+
+        // Remove o id antes de ler a posição: um movimento depois disso marca o id de novo
+        Iterator<Integer> ids = removed.iterator();
+        while (ids.hasNext()) {
+            int id = ids.next();
+            ids.remove();
+            dirty.remove(id);
+            gone.add(id);
+        }
+        ids = dirty.iterator();
+        while (ids.hasNext()) {
+            int id = ids.next();
+            ids.remove();
+            Mouse mouse = maze.getMouse(id);
+            if (mouse != null) {
+                changed.add(mouse);
+            } else {
+                gone.add(id);
+            }
+        }
+        if (changed.isEmpty() && gone.isEmpty()) return null;
+
+        ByteBuffer buffer = FrameProtocol.begin(10 + 2 * 5 + changed.size() * FrameProtocol.MAX_ENTRY_BYTES
+                + gone.size() * 5, FrameProtocol.DELTA);
+        BinaryCodec.putVarLong(buffer, tick);
+        BinaryCodec.putVarInt(buffer, changed.size());
+        for (Mouse mouse : changed) {
+            putMouse(buffer, mouse);
+        }
+        BinaryCodec.putVarInt(buffer, gone.size());
+        for (int id : gone) {
+            BinaryCodec.putVarInt(buffer, id);
+        }
+        return FrameProtocol.finish(buffer);
+    }
+
+    private static void putMouse(ByteBuffer buffer, Mouse mouse) {
+        BinaryCodec.putVarInt(buffer, mouse.getId());
+        BinaryCodec.putSignedVarInt(buffer, mouse.getX());
+        BinaryCodec.putSignedVarInt(buffer, mouse.getY());
+        buffer.put(mouse.hasReachedEnd() ? FrameProtocol.FLAG_REACHED_END : 0);
+    }
+
+    /**
+     * Para o servidor e desconecta todos os clientes
+     */
+    @Override
+    public void close() {
+        running = false;
+        maze.removeListener(this);
+        if (thread.isAlive()) {
+            selector.wakeup();
+            try {
+                thread.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            closeQuietly(serverChannel);
+            closeQuietly(selector);
+        }
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Conexão de um visualizador: fila de frames compartilhados (sem cópia) limitada em bytes
+     */
+    private class Client {
+        final SocketChannel channel;
+        final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+        final ByteBuffer readBuffer = ByteBuffer.allocate(256);
+        SelectionKey key;
+        int pendingBytes = 0;
+        boolean needsFull = true;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Enfileira o frame e tenta enviá-lo na hora. Retorna false (descartado) se não couber.
+         * Com a fila vazia o frame sempre entra, para um FULL grande não travar o cliente.
+         */
+        boolean offer(ByteBuffer frame) throws IOException {
+            if (pendingBytes > 0 && pendingBytes + frame.remaining() > clientBufferBytes) {
+                return false;
+            }
+            ByteBuffer view = frame.duplicate();
+            queue.add(view);
+            pendingBytes += view.remaining();
+            flush();
+            return true;
+        }
+
+        void flush() throws IOException {
+            while (!queue.isEmpty()) {
+                ByteBuffer head = queue.peek();
+                int written = channel.write(head);
+                pendingBytes -= written;
+                bytesSent.add(written);
+                if (head.hasRemaining()) {
+                    // Socket cheio: espera o seletor avisar que dá para escrever de novo
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                queue.poll();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        /**
+         * Os visualizadores não enviam nada; ler serve só para perceber a desconexão
+         */
+        void read() throws IOException {
+            readBuffer.clear();
+            if (channel.read(readBuffer) < 0) {
+                throw new IOException("Cliente desconectou");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int width = args.length > 1 ? Integer.parseInt(args[1]) : 41;
+        int height = args.length > 2 ? Integer.parseInt(args[2]) : 21;
+        int count = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        long tickMs = args.length > 4 ? Long.parseLong(args[4]) : 100;
+
+        Maze maze = new MazeGenerator().generateMaze(width, height);
+        maze.addMice(count, 200);
+
+        // Sem exibição no console: quem assiste são os clientes conectados
+        MazeHost host = new MazeHost();
+        int session = host.host(maze);
+        FrameServer server = new FrameServer(maze, port, tickMs);
+        server.start();
+        host.start(session);
+
+        while (!maze.isFinished()) {
+            Thread.sleep(5000);
+            System.out.println("📡 Clientes: " + server.getClientCount()
+                    + " | frames: " + server.getFramesQueued()
+                    + " | descartados: " + server.getFramesSkipped()
+                    + " | bytes: " + server.getBytesSent());
+        }
+        server.close();
+        host.shutdown();
+    }
+}
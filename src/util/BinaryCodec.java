@@ -0,0 +1,81 @@
+package util;
+
+import maze.Maze;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codificação binária compartilhada pelo log de eventos e pelo streaming de frames:
+ * varints (7 bits por byte), zigzag para inteiros com sinal e as paredes do labirinto
+ * empacotadas em 1 bit por célula.
+ */
+public final class BinaryCodec {
+    private BinaryCodec() {}
+
+    /**
+     * Escreve um inteiro sem sinal em formato varint (7 bits por byte)
+     */
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        putVarLong(buffer, value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Escreve um inteiro com sinal em zigzag (pequenos negativos ficam curtos)
+     */
+    public static void putSignedVarInt(ByteBuffer buffer, int value) {
+        putVarInt(buffer, zigzagEncode(value));
+    }
+
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Varint malformado na posição " + buffer.position());
+    }
+
+    public static int getVarInt(ByteBuffer buffer) {
+        return (int) getVarLong(buffer);
+    }
+
+    public static int getSignedVarInt(ByteBuffer buffer) {
+        return zigzagDecode(getVarInt(buffer));
+    }
+
+    public static int zigzagEncode(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    public static int zigzagDecode(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Paredes do labirinto (largura x altura, linha a linha): 1 bit por célula, 1 = caminho
+     */
+    public static byte[] packWalls(Maze maze) {
+        int width = maze.getWidth();
+        int height = maze.getHeight();
+        byte[] packed = new byte[(width * height + 7) / 8];
+        int cell = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (maze.isValidPosition(x, y)) {
+                    packed[cell >>> 3] |= (byte) (1 << (cell & 7));
+                }
+                cell++;
+            }
+        }
+        return packed;
+    }
+}